@@ -0,0 +1,64 @@
+package com.example.notemanager.benchmark;
+
+import com.example.notemanager.model.Note;
+import com.example.notemanager.model.User;
+
+import java.lang.reflect.Field;
+import java.util.SplittableRandom;
+
+/**
+ * Fixtures shared by the benchmarks. Generated text is the same for the same seed, so runs on different
+ * machines or commits work on identical input.
+ */
+final class BenchmarkSupport {
+    private static final String[] WORDS = {
+            "cat", "nap", "sun", "window", "bird", "dinner", "bowl", "purr", "scratch", "box",
+            "blanket", "mouse", "yarn", "treat", "garden", "morning", "evening", "sofa", "paw", "whisker"
+    };
+
+    private BenchmarkSupport() {
+    }
+
+    static User user(String userName) {
+        return User.builder()
+                .id((long) userName.hashCode())
+                .userName(userName)
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2Q4NQ6SE4rcvJzYFq1JbXBW")
+                .role("ROLE_USER")
+                .build();
+    }
+
+    static Note note(long id, String content) {
+        Note note = Note.builder()
+                .id(id)
+                .title("Note " + id)
+                .content(content)
+                .version(0L)
+                .build();
+        note.updatePreview(200);
+        return note;
+    }
+
+    static String text(long seed, int length) {
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            if (!text.isEmpty()) {
+                text.append(random.nextInt(12) == 0 ? ". " : " ");
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.substring(0, length);
+    }
+
+    // JwtUtil gets its secret and lifetime injected into fields
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
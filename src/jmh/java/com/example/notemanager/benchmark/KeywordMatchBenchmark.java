@@ -0,0 +1,90 @@
+package com.example.notemanager.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Case-insensitive keyword matching over note text, the predicate of the search endpoints
+ * ({@code LOWER(content) LIKE LOWER('%keyword%')}). Each benchmark scans the same notes for a keyword
+ * that occurs in about one note in ten.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeywordMatchBenchmark {
+    private static final int NOTES = 100;
+
+    @Param({"200", "8192"})
+    private int contentLength;
+
+    private String[] contents;
+    private String keyword;
+    private Pattern pattern;
+
+    @Setup
+    public void setUp() {
+        contents = new String[NOTES];
+        for (int i = 0; i < NOTES; i++) {
+            String text = BenchmarkSupport.text(i, contentLength);
+            contents[i] = i % 10 == 0 ? text.substring(0, contentLength / 2) + " Tuna " + text.substring(contentLength / 2) : text;
+        }
+        keyword = "tuna";
+        pattern = Pattern.compile(Pattern.quote(keyword), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    // what the query does: lower both sides, then look for the substring
+    @Benchmark
+    public int lowerCaseContains() {
+        String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+        int matches = 0;
+        for (String content : contents) {
+            if (content.toLowerCase(Locale.ROOT).contains(lowerKeyword)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    // no copy of the content, compares in place
+    @Benchmark
+    public int regionMatches() {
+        int matches = 0;
+        for (String content : contents) {
+            if (containsIgnoreCase(content, keyword)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int precompiledPattern() {
+        int matches = 0;
+        for (String content : contents) {
+            if (pattern.matcher(content).find()) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private static boolean containsIgnoreCase(String text, String keyword) {
+        int last = text.length() - keyword.length();
+        for (int i = 0; i <= last; i++) {
+            if (text.regionMatches(true, i, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
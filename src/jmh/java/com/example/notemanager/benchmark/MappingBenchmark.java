@@ -0,0 +1,79 @@
+package com.example.notemanager.benchmark;
+
+import com.example.notemanager.api.config.MapperConfig;
+import com.example.notemanager.api.model.dto.Mapper;
+import com.example.notemanager.api.model.dto.request.NoteCreateRequest;
+import com.example.notemanager.api.model.dto.response.NoteResponse;
+import com.example.notemanager.model.Note;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Request and response mapping of the note endpoints and the serialization of a listed page,
+ * which is what every {@code GET /api/v1/notes} ends with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MappingBenchmark {
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private Mapper<NoteCreateRequest, Note> noteCreateRequestMapper;
+    private Mapper<Note, NoteResponse> noteMapper;
+    private Mapper<Note, NoteResponse> notePreviewMapper;
+    private ObjectMapper objectMapper;
+    private NoteCreateRequest request;
+    private List<Note> notes;
+    private Page<NoteResponse> page;
+
+    @Setup
+    public void setUp() {
+        MapperConfig mapperConfig = new MapperConfig();
+        noteCreateRequestMapper = mapperConfig.noteCreateRequestMapper();
+        noteMapper = mapperConfig.noteMapper();
+        notePreviewMapper = mapperConfig.notePreviewMapper();
+        objectMapper = new ObjectMapper();
+        request = new NoteCreateRequest("Dinner", BenchmarkSupport.text(0, 400));
+        notes = IntStream.range(0, pageSize)
+                .mapToObj(i -> BenchmarkSupport.note(i, BenchmarkSupport.text(i, 400)))
+                .toList();
+        page = new PageImpl<>(notes.stream().map(notePreviewMapper::map).toList(),
+                PageRequest.of(0, pageSize), pageSize * 10L);
+    }
+
+    @Benchmark
+    public Note mapCreateRequest() {
+        return noteCreateRequestMapper.map(request);
+    }
+
+    @Benchmark
+    public List<NoteResponse> mapPageWithContent() {
+        return notes.stream().map(noteMapper::map).toList();
+    }
+
+    @Benchmark
+    public List<NoteResponse> mapPageWithPreview() {
+        return notes.stream().map(notePreviewMapper::map).toList();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.notemanager.benchmark;
+
+import com.example.notemanager.model.converter.RevisionDeltaCodec;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storing and reading note revisions. {@code rebuild} is what reading an old revision costs: one
+ * snapshot and up to {@code snapshot-interval - 1} deltas. {@code delta} encodes one typical edit and
+ * reports the stored bytes of the delta and of a snapshot of the same text as secondary results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RevisionDeltaCodecBenchmark {
+    private static final RevisionDeltaCodec CODEC = new RevisionDeltaCodec();
+
+    @State(Scope.Benchmark)
+    public static class Chain {
+        // 19 deltas is the longest chain at the default snapshot-interval of 20
+        @Param({"0", "5", "19"})
+        private int deltas;
+
+        @Param({"2000", "20000"})
+        private int contentLength;
+
+        private byte[] snapshot;
+        private byte[][] chain;
+
+        @Setup
+        public void setUp() {
+            SplittableRandom random = new SplittableRandom(deltas);
+            String content = BenchmarkSupport.text(contentLength, contentLength);
+            snapshot = CODEC.snapshot(content);
+            chain = new byte[deltas][];
+            for (int i = 0; i < deltas; i++) {
+                String next = Edit.values()[i % Edit.values().length].apply(content, random);
+                chain[i] = CODEC.delta(content, next);
+                content = next;
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Revision {
+        @Param({"WORD", "SENTENCE", "PARAGRAPH"})
+        private Edit edit;
+
+        @Param({"2000", "20000"})
+        private int contentLength;
+
+        private String base;
+        private String target;
+        private int snapshotBytes;
+
+        @Setup
+        public void setUp() {
+            base = BenchmarkSupport.text(contentLength, contentLength);
+            target = edit.apply(base, new SplittableRandom(contentLength));
+            snapshotBytes = CODEC.snapshot(target).length;
+        }
+    }
+
+    // reported per iteration, the values are the same for every invocation
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StoredBytes {
+        public int deltaBytes;
+        public int snapshotBytes;
+    }
+
+    /**
+     * Edits as they come in from the editor: a word replaced, a sentence added at the end, a paragraph
+     * pasted in the middle.
+     */
+    public enum Edit {
+        WORD {
+            @Override
+            String apply(String text, SplittableRandom random) {
+                int at = text.indexOf(' ', random.nextInt(text.length() / 2)) + 1;
+                int end = text.indexOf(' ', at);
+                return text.substring(0, at) + "tuna" + text.substring(end < 0 ? text.length() : end);
+            }
+        },
+        SENTENCE {
+            @Override
+            String apply(String text, SplittableRandom random) {
+                return text + ". " + BenchmarkSupport.text(random.nextLong(), 80);
+            }
+        },
+        PARAGRAPH {
+            @Override
+            String apply(String text, SplittableRandom random) {
+                int at = text.length() / 2;
+                return text.substring(0, at) + "\n\n" + BenchmarkSupport.text(random.nextLong(), 600) + "\n\n"
+                        + text.substring(at);
+            }
+        };
+
+        abstract String apply(String text, SplittableRandom random);
+    }
+
+    @Benchmark
+    public String rebuild(Chain chain) {
+        String content = CODEC.readSnapshot(chain.snapshot);
+        for (byte[] delta : chain.chain) {
+            content = CODEC.apply(content, delta);
+        }
+        return content;
+    }
+
+    @Benchmark
+    public byte[] delta(Revision revision, StoredBytes storedBytes) {
+        byte[] delta = CODEC.delta(revision.base, revision.target);
+        storedBytes.deltaBytes = delta.length;
+        storedBytes.snapshotBytes = revision.snapshotBytes;
+        return delta;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.notemanager.benchmark;
+
+import com.example.notemanager.config.CacheConfig;
+import com.example.notemanager.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The user cache as configured in {@link CacheConfig}: every authenticated request reads it, logins
+ * and the cache filter write it. Reads and writes run at the same time, with more users than fit in the
+ * cache so that it also evicts.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserCacheBenchmark {
+    private static final int USERS = 150;
+
+    private Cache<String, User> userCache;
+    private String[] names;
+    private User[] users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userCache = new CacheConfig().userCache(new SimpleMeterRegistry());
+        names = new String[USERS];
+        users = new User[USERS];
+        for (int i = 0; i < USERS; i++) {
+            names[i] = "user-" + i;
+            users[i] = BenchmarkSupport.user(names[i]);
+            userCache.put(names[i], users[i]);
+        }
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(7)
+    public User readMostlyGet() {
+        return userCache.getIfPresent(names[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(1)
+    public void readMostlyPut() {
+        int i = ThreadLocalRandom.current().nextInt(USERS);
+        userCache.put(names[i], users[i]);
+    }
+
+    @Benchmark
+    @Group("balanced")
+    @GroupThreads(4)
+    public User balancedGet() {
+        return userCache.getIfPresent(names[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+
+    @Benchmark
+    @Group("balanced")
+    @GroupThreads(4)
+    public void balancedPut() {
+        int i = ThreadLocalRandom.current().nextInt(USERS);
+        userCache.put(names[i], users[i]);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.notemanager.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: scenarios arrive at {@link LoadTestSettings#rate()} per second with exponential
+ * gaps and each runs on its own virtual thread, so a slow server gets more concurrent scenarios instead of
+ * fewer arrivals. Scenario latencies are taken from the planned arrival time, which keeps the generator's
+ * own delays from hiding queueing. Exits with status 1 if an objective of the SLO file is breached.
+ */
+public final class LoadTest {
+    private static final int NOTES_PER_USER = 5;
+
+    private final LoadTestSettings settings;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private LoadTest(LoadTestSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        ServiceLevelObjectives objectives = ServiceLevelObjectives.load(settings.slo());
+        Map<String, Results.Stats> stats = new LoadTest(settings).run();
+
+        report(stats);
+        List<String> breaches = objectives.breaches(stats, settings.rate());
+        if (!breaches.isEmpty()) {
+            System.out.println("\nSLO breached:");
+            breaches.forEach(breach -> System.out.println("  " + breach));
+            System.exit(1);
+        }
+        System.out.println("\nAll objectives met");
+    }
+
+    private Map<String, Results.Stats> run() throws Exception {
+        try (executor) {
+            NotesClient warmupClient = new NotesClient(settings.baseUrl(),
+                    Long.toString(System.currentTimeMillis(), 36), executor, new Results());
+            List<VirtualUser> users = prepareUsers(warmupClient);
+            System.out.printf("Prepared %d users, warming up for %s%n", users.size(), settings.warmup());
+            generate(warmupClient, users, settings.warmup());
+
+            NotesClient client = warmupClient.recordingTo(new Results());
+            System.out.printf("Measuring %s at %.1f scenarios/s against %s%n",
+                    settings.duration(), settings.rate(), settings.baseUrl());
+            long start = System.nanoTime();
+            generate(client, users, settings.duration());
+            // waits for the scenarios still running
+            executor.close();
+            double seconds = Math.max(settings.duration().toNanos(), System.nanoTime() - start) / 1e9;
+            return client.results().stats(seconds);
+        }
+    }
+
+    private List<VirtualUser> prepareUsers(NotesClient client) throws Exception {
+        List<Future<VirtualUser>> futures = new ArrayList<>();
+        for (int i = 0; i < settings.users(); i++) {
+            String userName = "load-" + client.runId() + "-u" + i;
+            futures.add(executor.submit(() -> {
+                client.signup(userName, VirtualUser.PASSWORD);
+                String token = client.login(userName, VirtualUser.PASSWORD);
+                for (int n = 0; n < NOTES_PER_USER; n++) {
+                    client.create(token, "Prepared " + n, VirtualUser.content(n));
+                }
+                return new VirtualUser(userName, token, client.noteIds(token));
+            }));
+        }
+        List<VirtualUser> users = new ArrayList<>();
+        for (Future<VirtualUser> future : futures) {
+            users.add(future.get());
+        }
+        return users;
+    }
+
+    // arrivals for the given time, each scenario is started without waiting for the ones before
+    private void generate(NotesClient client, List<VirtualUser> users, Duration duration) {
+        SplittableRandom random = new SplittableRandom(settings.seed() + sequence.get());
+        int totalWeight = settings.mix().values().stream().mapToInt(Integer::intValue).sum();
+        long end = System.nanoTime() + duration.toNanos();
+        long next = System.nanoTime();
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long plannedStart = next;
+            Scenario scenario = pick(random.nextInt(totalWeight));
+            VirtualUser user = users.get(random.nextInt(users.size()));
+            long scenarioSequence = sequence.incrementAndGet();
+            executor.execute(() -> {
+                boolean ok = true;
+                try {
+                    scenario.run(client, user, scenarioSequence);
+                } catch (Exception e) {
+                    ok = false;
+                } finally {
+                    client.results().record(scenario.metricName(), System.nanoTime() - plannedStart, ok);
+                }
+            });
+            next += (long) (-Math.log(1 - random.nextDouble()) / settings.rate() * 1e9);
+        }
+    }
+
+    private Scenario pick(int weight) {
+        for (Map.Entry<Scenario, Integer> entry : settings.mix().entrySet()) {
+            weight -= entry.getValue();
+            if (weight < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("empty scenario mix");
+    }
+
+    private static void report(Map<String, Results.Stats> stats) {
+        System.out.printf("%n%-18s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+                "name", "count", "errors", "rate/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        stats.forEach((name, stat) -> System.out.printf("%-18s %8d %7d %8.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                name, stat.count(), stat.errors(), stat.throughput(), stat.millisAt(50), stat.millisAt(95),
+                stat.millisAt(99), stat.millisAt(99.9), stat.histogram().getMaxValue() / 1000.0));
+    }
+}
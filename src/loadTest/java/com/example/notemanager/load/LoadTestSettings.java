@@ -0,0 +1,50 @@
+package com.example.notemanager.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of a run, read from {@code load.*} system properties ({@code ./gradlew loadTest -Pload.rate=200}).
+ *
+ * @param baseUrl  the application under test, already running
+ * @param rate     scenario arrivals per second; arrivals don't wait for earlier scenarios to finish
+ * @param duration how long arrivals are generated and measured
+ * @param warmup   arrivals before the measurement starts, not recorded
+ * @param users    prepared users the scenarios other than signup pick from
+ * @param mix      relative weight of every scenario
+ * @param slo      file with the service level objectives, the classpath default if not set
+ */
+public record LoadTestSettings(String baseUrl,
+                               double rate,
+                               Duration duration,
+                               Duration warmup,
+                               int users,
+                               long seed,
+                               Map<Scenario, Integer> mix,
+                               Path slo) {
+    private static final String DEFAULT_MIX = "signup=2,login=5,list=35,search=15,create=10,update=20,mvc=13";
+
+    public static LoadTestSettings fromSystemProperties() {
+        String slo = System.getProperty("load.slo");
+        return new LoadTestSettings(
+                System.getProperty("load.base-url", "http://localhost:8080"),
+                Double.parseDouble(System.getProperty("load.rate", "50")),
+                Duration.parse("PT" + System.getProperty("load.duration", "60s")),
+                Duration.parse("PT" + System.getProperty("load.warmup", "10s")),
+                Integer.getInteger("load.users", 50),
+                Long.getLong("load.seed", 42),
+                parseMix(System.getProperty("load.mix", DEFAULT_MIX)),
+                slo != null ? Path.of(slo) : null);
+    }
+
+    private static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            weights.put(Scenario.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.notemanager.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The requests of the scenarios. Every call is timed and recorded under its name; an unexpected status
+ * counts as an error and ends the scenario with a {@link RequestFailedException}.
+ */
+final class NotesClient {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    private final String baseUrl;
+    private final String runId;
+    private final HttpClient httpClient;
+    private final Executor executor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Results results;
+
+    NotesClient(String baseUrl, String runId, Executor executor, Results results) {
+        this(baseUrl, runId, executor, results, HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build());
+    }
+
+    private NotesClient(String baseUrl, String runId, Executor executor, Results results, HttpClient httpClient) {
+        this.baseUrl = baseUrl;
+        this.runId = runId;
+        this.executor = executor;
+        this.results = results;
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Same connections, other results, e.g. to keep the warmup out of the measurement.
+     */
+    NotesClient recordingTo(Results results) {
+        return new NotesClient(baseUrl, runId, executor, results, httpClient);
+    }
+
+    Results results() {
+        return results;
+    }
+
+    String runId() {
+        return runId;
+    }
+
+    void signup(String userName, String password) throws IOException, InterruptedException {
+        send("signup", httpClient, json("/api/v1/signup", null)
+                .POST(body(Map.of("userName", userName, "password", password))), 200);
+    }
+
+    String login(String userName, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = send("login", httpClient, json("/api/v1/login", null)
+                .POST(body(Map.of("userName", userName, "password", password))), 200);
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    void list(String token, int page) throws IOException, InterruptedException {
+        send("list", httpClient, json("/api/v1/notes?size=10&page=" + page, token).GET(), 200);
+    }
+
+    void search(String token, String keyword) throws IOException, InterruptedException {
+        send("search", httpClient, json("/api/v1/notes/search?size=10&keyword=" + encode(keyword), token).GET(), 200);
+    }
+
+    void create(String token, String title, String content) throws IOException, InterruptedException {
+        send("create", httpClient, json("/api/v1/notes", token)
+                .POST(body(Map.of("title", title, "content", content))), 201);
+    }
+
+    void update(String token, long id, String title, String content) throws IOException, InterruptedException {
+        send("update", httpClient, json("/api/v1/notes/" + id, token)
+                .PUT(body(Map.of("title", title, "content", content))), 200);
+    }
+
+    List<Long> noteIds(String token) throws IOException, InterruptedException {
+        HttpResponse<String> response = send("list", httpClient,
+                json("/api/v1/notes?size=50&fields=id", token).GET(), 200);
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode note : objectMapper.readTree(response.body()).get("content")) {
+            ids.add(note.get("id").asLong());
+        }
+        return ids;
+    }
+
+    /**
+     * Logs in through the login form, the session keeps its own cookies.
+     */
+    Session mvcLogin(String userName, String password) throws IOException, InterruptedException {
+        HttpClient sessionClient = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .cookieHandler(new CookieManager())
+                .build();
+        HttpResponse<String> form = send("mvc.login-form", sessionClient, request("/login").GET(), 200);
+        Matcher csrf = CSRF.matcher(form.body());
+        if (!csrf.find()) {
+            throw new RequestFailedException("mvc.login-form", "no CSRF token in the login form");
+        }
+        String body = Map.of("username", userName, "password", password, "_csrf", csrf.group(1)).entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + encode(entry.getValue()))
+                .collect(Collectors.joining("&"));
+        HttpResponse<String> login = send("mvc.login", sessionClient, request("/login")
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body)), 302);
+        if (!login.headers().firstValue("Location").orElse("").endsWith("/note/list")) {
+            throw new RequestFailedException("mvc.login", "redirected to " + login.headers().firstValue("Location"));
+        }
+        return new Session(sessionClient);
+    }
+
+    final class Session {
+        private final HttpClient sessionClient;
+
+        private Session(HttpClient sessionClient) {
+            this.sessionClient = sessionClient;
+        }
+
+        void get(String name, String path) throws IOException, InterruptedException {
+            send(name, sessionClient, request(path).GET(), 200);
+        }
+    }
+
+    private HttpResponse<String> send(String name, HttpClient client, HttpRequest.Builder request, int expectedStatus)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            results.record(name, System.nanoTime() - start, false);
+            throw e;
+        }
+        boolean ok = response.statusCode() == expectedStatus;
+        results.record(name, System.nanoTime() - start, ok);
+        if (!ok) {
+            throw new RequestFailedException(name, "status " + response.statusCode());
+        }
+        return response;
+    }
+
+    private HttpRequest.Builder json(String path, String token) {
+        HttpRequest.Builder request = request(path)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        return token != null ? request.header("Authorization", "Bearer " + token) : request;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+    }
+
+    private HttpRequest.BodyPublisher body(Object value) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(value));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    static final class RequestFailedException extends RuntimeException {
+        RequestFailedException(String name, String reason) {
+            super(name + ": " + reason);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.notemanager.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies in microseconds and error counts per request or scenario name, written from any thread.
+ */
+final class Results {
+    private final Map<String, ConcurrentHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(String name, long nanos, boolean ok) {
+        latencies.computeIfAbsent(name, ignored -> new ConcurrentHistogram(3))
+                .recordValue(Math.max(1, nanos / 1000));
+        if (!ok) {
+            errors.computeIfAbsent(name, ignored -> new LongAdder()).increment();
+        }
+    }
+
+    Map<String, Stats> stats(double seconds) {
+        Map<String, Stats> stats = new TreeMap<>();
+        latencies.forEach((name, histogram) -> {
+            Histogram copy = histogram.copy();
+            LongAdder failed = errors.get(name);
+            stats.put(name, new Stats(copy, failed != null ? failed.sum() : 0, seconds));
+        });
+        return stats;
+    }
+
+    record Stats(Histogram histogram, long errors, double seconds) {
+
+        long count() {
+            return histogram.getTotalCount();
+        }
+
+        double errorRate() {
+            return count() == 0 ? 0 : (double) errors / count();
+        }
+
+        double throughput() {
+            return count() / seconds;
+        }
+
+        double millisAt(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
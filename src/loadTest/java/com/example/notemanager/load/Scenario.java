@@ -0,0 +1,62 @@
+package com.example.notemanager.load;
+
+/**
+ * A user journey started by one arrival. Every request of it is recorded under its own name, the whole
+ * scenario under {@code scenario.<name>} measured from the moment it was due to start.
+ */
+public enum Scenario {
+    SIGNUP {
+        @Override
+        void run(NotesClient client, VirtualUser user, long sequence) throws Exception {
+            String userName = "load-" + client.runId() + "-s" + sequence;
+            client.signup(userName, VirtualUser.PASSWORD);
+            client.login(userName, VirtualUser.PASSWORD);
+        }
+    },
+    LOGIN {
+        @Override
+        void run(NotesClient client, VirtualUser user, long sequence) throws Exception {
+            user.token(client.login(user.userName(), VirtualUser.PASSWORD));
+        }
+    },
+    LIST {
+        @Override
+        void run(NotesClient client, VirtualUser user, long sequence) throws Exception {
+            client.list(user.token(), (int) (sequence % 3));
+        }
+    },
+    SEARCH {
+        @Override
+        void run(NotesClient client, VirtualUser user, long sequence) throws Exception {
+            client.search(user.token(), VirtualUser.KEYWORDS[(int) (sequence % VirtualUser.KEYWORDS.length)]);
+        }
+    },
+    CREATE {
+        @Override
+        void run(NotesClient client, VirtualUser user, long sequence) throws Exception {
+            client.create(user.token(), "Load " + sequence, VirtualUser.content(sequence));
+        }
+    },
+    UPDATE {
+        @Override
+        void run(NotesClient client, VirtualUser user, long sequence) throws Exception {
+            client.update(user.token(), user.noteId(sequence), "Load " + sequence, VirtualUser.content(sequence));
+        }
+    },
+    // browser flow: login form with its CSRF token, then the note list and a search on the session
+    MVC {
+        @Override
+        void run(NotesClient client, VirtualUser user, long sequence) throws Exception {
+            NotesClient.Session session = client.mvcLogin(user.userName(), VirtualUser.PASSWORD);
+            session.get("mvc.list", "/note/list");
+            session.get("mvc.search", "/note/search?keyword="
+                    + VirtualUser.KEYWORDS[(int) (sequence % VirtualUser.KEYWORDS.length)]);
+        }
+    };
+
+    abstract void run(NotesClient client, VirtualUser user, long sequence) throws Exception;
+
+    String metricName() {
+        return "scenario." + name().toLowerCase();
+    }
+}
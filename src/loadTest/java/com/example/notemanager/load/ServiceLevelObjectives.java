@@ -0,0 +1,98 @@
+package com.example.notemanager.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The objectives of {@code slo.properties}, see the comments there for the keys.
+ */
+final class ServiceLevelObjectives {
+    private final Properties objectives;
+
+    private ServiceLevelObjectives(Properties objectives) {
+        this.objectives = objectives;
+    }
+
+    static ServiceLevelObjectives load(Path file) throws IOException {
+        Properties objectives = new Properties();
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                objectives.load(reader);
+            }
+        } else {
+            try (InputStream in = ServiceLevelObjectives.class.getResourceAsStream("/slo.properties")) {
+                objectives.load(in);
+            }
+        }
+        return new ServiceLevelObjectives(objectives);
+    }
+
+    /**
+     * @return a line per breached objective, empty if all are met
+     */
+    List<String> breaches(Map<String, Results.Stats> stats, double rate) {
+        List<String> breaches = new ArrayList<>();
+        for (String key : objectives.stringPropertyNames()) {
+            String value = objectives.getProperty(key).trim();
+            if (key.equals("error-rate")) {
+                double errorRate = overallScenarioErrorRate(stats);
+                if (errorRate > Double.parseDouble(value)) {
+                    breaches.add(String.format("error rate %.4f > %s", errorRate, value));
+                }
+            } else if (key.equals("throughput.min-ratio")) {
+                double throughput = stats.entrySet().stream()
+                        .filter(entry -> entry.getKey().startsWith("scenario."))
+                        .mapToDouble(entry -> entry.getValue().throughput() * (1 - entry.getValue().errorRate()))
+                        .sum();
+                if (throughput < rate * Double.parseDouble(value)) {
+                    breaches.add(String.format("throughput %.1f/s < %s of %.1f/s", throughput, value, rate));
+                }
+            } else if (key.endsWith(".error-rate")) {
+                Results.Stats stat = stats.get(key.substring(0, key.length() - ".error-rate".length()));
+                if (stat != null && stat.errorRate() > Double.parseDouble(value)) {
+                    breaches.add(String.format("%s %.4f > %s", key, stat.errorRate(), value));
+                }
+            } else {
+                int separator = key.lastIndexOf(".p");
+                Results.Stats stat = stats.get(key.substring(0, separator));
+                double percentile = Double.parseDouble(key.substring(separator + 2));
+                double limit = millis(value);
+                if (stat == null) {
+                    breaches.add(key + ": no requests recorded");
+                } else if (stat.millisAt(percentile) > limit) {
+                    breaches.add(String.format("%s %.1fms > %s", key, stat.millisAt(percentile), value));
+                }
+            }
+        }
+        return breaches;
+    }
+
+    private static double overallScenarioErrorRate(Map<String, Results.Stats> stats) {
+        long count = 0;
+        long errors = 0;
+        for (Map.Entry<String, Results.Stats> entry : stats.entrySet()) {
+            if (entry.getKey().startsWith("scenario.")) {
+                count += entry.getValue().count();
+                errors += entry.getValue().errors();
+            }
+        }
+        return count == 0 ? 0 : (double) errors / count;
+    }
+
+    private static double millis(String value) {
+        if (value.endsWith("ms")) {
+            return Double.parseDouble(value.substring(0, value.length() - 2));
+        }
+        if (value.endsWith("s")) {
+            return Double.parseDouble(value.substring(0, value.length() - 1)) * 1000;
+        }
+        return Double.parseDouble(value);
+    }
+}
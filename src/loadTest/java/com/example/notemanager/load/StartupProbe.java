@@ -0,0 +1,88 @@
+package com.example.notemanager.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the application jar {@code startup.runs} times and measures the time from launching the JVM to the
+ * first successful response of {@code startup.url}, then stops it again. Settings come from {@code startup.*}
+ * system properties ({@code ./gradlew startupTime -Pstartup.jvm-args="-XX:SharedArchiveFile=..."}).
+ */
+public class StartupProbe {
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+    public static void main(String[] args) throws Exception {
+        String java = System.getProperty("startup.java", "java");
+        String jar = System.getProperty("startup.jar");
+        String jvmArgs = System.getProperty("startup.jvm-args", "").trim();
+        URI url = URI.create(System.getProperty("startup.url", "http://localhost:8080/login"));
+        Duration timeout = Duration.parse("PT" + System.getProperty("startup.timeout", "120s"));
+        int runs = Integer.getInteger("startup.runs", 5);
+        if (jar == null) {
+            throw new IllegalArgumentException("startup.jar is not set");
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        if (!jvmArgs.isEmpty()) {
+            command.addAll(Arrays.asList(jvmArgs.split("\\s+")));
+        }
+        command.add("-jar");
+        command.add(jar);
+
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        long[] millis = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            millis[run] = timeToFirstRequest(command, httpClient, url, timeout).toMillis();
+            System.out.printf("run %d: first successful request after %d ms%n", run + 1, millis[run]);
+        }
+        Arrays.sort(millis);
+        System.out.printf("%s%ntime to first request: min %d ms, median %d ms, max %d ms over %d runs%n",
+                String.join(" ", command), millis[0], millis[runs / 2], millis[runs - 1], runs);
+    }
+
+    private static Duration timeToFirstRequest(List<String> command, HttpClient httpClient, URI url, Duration timeout)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process application = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!application.isAlive()) {
+                    throw new IllegalStateException("The application exited with " + application.exitValue());
+                }
+                if (succeeds(httpClient, url)) {
+                    return Duration.ofNanos(System.nanoTime() - start);
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException("No successful response from " + url + " within " + timeout);
+        } finally {
+            application.destroy();
+            if (!application.waitFor(30, TimeUnit.SECONDS)) {
+                application.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static boolean succeeds(HttpClient httpClient, URI url) throws InterruptedException {
+        try {
+            HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(url).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
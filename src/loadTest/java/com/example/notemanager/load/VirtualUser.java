@@ -0,0 +1,41 @@
+package com.example.notemanager.load;
+
+import java.util.List;
+
+/**
+ * One of the users prepared before the run, with a token and the ids of the notes it owns.
+ */
+final class VirtualUser {
+    static final String PASSWORD = "load-password";
+    static final String[] KEYWORDS = {"tuna", "nap", "window", "vacuum"};
+
+    private final String userName;
+    private final List<Long> noteIds;
+    private volatile String token;
+
+    VirtualUser(String userName, String token, List<Long> noteIds) {
+        this.userName = userName;
+        this.token = token;
+        this.noteIds = noteIds;
+    }
+
+    static String content(long sequence) {
+        return "Written by the load test, " + KEYWORDS[(int) (sequence % KEYWORDS.length)] + " number " + sequence;
+    }
+
+    String userName() {
+        return userName;
+    }
+
+    String token() {
+        return token;
+    }
+
+    void token(String token) {
+        this.token = token;
+    }
+
+    long noteId(long sequence) {
+        return noteIds.get((int) (sequence % noteIds.size()));
+    }
+}
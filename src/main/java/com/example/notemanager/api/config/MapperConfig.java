@@ -32,6 +32,16 @@ public class MapperConfig {
         return note -> NoteResponse.builder()
                 .title(note.getTitle())
                 .content(note.getContent())
+                .contentLength(note.getContentLength())
+                .build();
+    }
+
+    @Bean
+    public Mapper<Note, NoteResponse> notePreviewMapper() {
+        return note -> NoteResponse.builder()
+                .title(note.getTitle())
+                .preview(note.getPreview())
+                .contentLength(note.getContentLength())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.example.notemanager.api.controller;
+
+import com.example.notemanager.service.UserDeletionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/account")
+@RequiredArgsConstructor
+@Tag(name = "Authentication controller", description = "Manages user authentication and account creation for the application")
+public class AccountApiController {
+    private final UserDeletionService userDeletionService;
+
+    @Operation(
+            summary = "Delete the account",
+            description = """
+                    Deletes the authenticated user. The account can't be used from this moment on and its notes
+                    are no longer returned; they are removed in the background, chunk by chunk.
+                    """)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "The account is deleted, its notes are being purged",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "User does not have permission to access this resource",
+                    content = @Content)
+    })
+    @DeleteMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void delete() {
+        userDeletionService.deleteAuthenticatedUser();
+    }
+}
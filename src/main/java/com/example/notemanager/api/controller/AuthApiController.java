@@ -5,6 +5,7 @@ import com.example.notemanager.api.model.dto.request.UserCreateRequest;
 import com.example.notemanager.api.model.dto.request.UserLoginRequest;
 import com.example.notemanager.api.model.dto.response.LoginResponse;
 import com.example.notemanager.api.model.dto.response.SignupResponse;
+import com.example.notemanager.diagnostics.DiagnosticContext;
 import com.example.notemanager.model.User;
 import com.example.notemanager.service.UserService;
 import com.example.notemanager.api.util.JwtUtil;
@@ -113,6 +114,7 @@ public class AuthApiController {
     public LoginResponse login(@Valid @RequestBody UserLoginRequest request) {
         String username = request.userName();
         String password = request.password();
+        DiagnosticContext.user(username);
 
         Optional<User> userOpt = userService.findByUserName(username);
         if (userOpt.isEmpty()) {
@@ -121,6 +123,10 @@ public class AuthApiController {
         }
 
         User user = userOpt.get();
+        if (!user.isEnabled()) {
+            userService.evictUserFromCache(username);
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
+        }
 
         // Check if the account is locked
         if (userService.isAccountLocked(user)) {
@@ -4,6 +4,8 @@ import com.example.notemanager.api.model.dto.Mapper;
 import com.example.notemanager.api.model.dto.request.NoteCreateRequest;
 import com.example.notemanager.api.model.dto.request.NoteUpdateRequest;
 import com.example.notemanager.model.Note;
+import com.example.notemanager.model.NoteField;
+import com.example.notemanager.model.NoteProjection;
 import com.example.notemanager.api.model.dto.response.NoteResponse;
 import com.example.notemanager.service.NoteService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -31,6 +33,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.EnumSet;
+import java.util.Set;
 
 import static org.springframework.data.web.config.EnableSpringDataWebSupport.PageSerializationMode.VIA_DTO;
 
@@ -48,6 +54,7 @@ public class NoteApiController {
     private final Mapper<NoteCreateRequest, Note> noteCreateRequestMapper;
     private final Mapper<NoteUpdateRequest, Note> noteUpdateRequestMapper;
     private final Mapper <Note, NoteResponse> noteMapper;
+    private final Mapper <Note, NoteResponse> notePreviewMapper;
 
     @Operation(summary = "Display the list of notes",
             description = """
@@ -56,6 +63,8 @@ public class NoteApiController {
                     **Pagination Parameters:**
                     - `page` (optional, default: `0`): The page number (zero-based index) to retrieve.
                     - `size` (optional, default: `10`): The number of notes per page.
+                    - `full` (optional, default: `false`): Return the full content instead of a preview.
+                    - `fields` (optional): Comma-separated list of the fields to return, e.g. `id,title`. One of `id`, `title`, `content`, `preview`, `contentLength`, `version`. Only these columns are read.
                     
                     **Example Request:**
                     `GET http://localhost:8080/api/v1/notes?page=0&size=10`
@@ -66,14 +75,30 @@ public class NoteApiController {
             })
     @GetMapping()
     public Page<NoteResponse> listAll(@RequestParam(defaultValue = "0") int page,
-                                      @RequestParam(defaultValue = "10") int size) {
+                                      @RequestParam(defaultValue = "10") int size,
+                                      @RequestParam(defaultValue = "false") boolean full) {
         PageRequest pageRequest = PageRequest.of(page, size);
-        return noteService.listAll(pageRequest)
-                .map(noteMapper::map);
+        Mapper<Note, NoteResponse> mapper = full ? noteMapper : notePreviewMapper;
+        return noteService.listAll(pageRequest, full)
+                .map(mapper::map);
+    }
+
+    // ?fields= has handlers of its own, so the documented operations keep their NoteResponse schema
+    @Operation(hidden = true)
+    @GetMapping(params = "fields")
+    public Page<NoteProjection> listFields(@RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(defaultValue = "10") int size,
+                                           @RequestParam String fields) {
+        return noteService.listFields(PageRequest.of(page, size), parseFields(fields));
     }
 
     @Operation(summary = "Find a note by ID",
-            description = "Retrieve the details of a specific note using its unique identifier")
+            description = """
+                    Retrieve the details of a specific note using its unique identifier.
+                    
+                    **Request Parameters:**
+                    - `fields` (optional): Comma-separated list of the fields to return, e.g. `id,title`. One of `id`, `title`, `content`, `preview`, `contentLength`, `version`. Only these columns are read.
+                    """)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successful operation",
                     content = {@Content(mediaType = "application/json",
@@ -93,6 +118,13 @@ public class NoteApiController {
         return noteMapper.map(note);
     }
 
+    @Operation(hidden = true)
+    @GetMapping(value = "/{id}", params = "fields")
+    public NoteProjection getFieldsById(@PathVariable @Positive Long id,
+                                        @RequestParam String fields) {
+        return noteService.getFieldsById(id, parseFields(fields));
+    }
+
     @Operation(summary = "Delete a note by ID",
             description = "Remove a specific note using its unique identifier. The operation is irreversible")
     @ApiResponses(value = {
@@ -179,6 +211,8 @@ public class NoteApiController {
                     - `keyword` (required): The search term to look for in the notes. This parameter cannot be empty.
                     - `page` (optional, default: `0`): The page number (zero-based index) to retrieve for the search results.
                     - `size` (optional, default: `10`): The number of notes per page in the search results.
+                    - `full` (optional, default: `false`): Return the full content instead of a preview.
+                    - `fields` (optional): Comma-separated list of the fields to return, e.g. `id,title`. One of `id`, `title`, `content`, `preview`, `contentLength`, `version`. Only these columns are read.
                     
                     **Example Request:**
                     `GET http://localhost:8080/api/v1/notes/search?keyword=cute&page=0&size=10`
@@ -193,12 +227,35 @@ public class NoteApiController {
     @GetMapping("/search")
     public Page<NoteResponse> searchNotes(@RequestParam String keyword,
                                           @RequestParam(defaultValue = "0") int page,
-                                          @RequestParam(defaultValue = "10") int size) {
+                                          @RequestParam(defaultValue = "10") int size,
+                                          @RequestParam(defaultValue = "false") boolean full) {
         PageRequest pageRequest = PageRequest.of(page, size);
-        return noteService.search(keyword, pageRequest)
-                .map(note -> NoteResponse.builder()
-                        .title(note.getTitle())
-                        .content(note.getContent())
-                        .build());
+        Mapper<Note, NoteResponse> mapper = full ? noteMapper : notePreviewMapper;
+        return noteService.search(keyword, pageRequest, full)
+                .map(mapper::map);
+    }
+
+    @Operation(hidden = true)
+    @GetMapping(value = "/search", params = "fields")
+    public Page<NoteProjection> searchFields(@RequestParam String keyword,
+                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(defaultValue = "10") int size,
+                                             @RequestParam String fields) {
+        return noteService.searchFields(keyword, PageRequest.of(page, size), parseFields(fields));
     }
-}
\ No newline at end of file
+
+    private static Set<NoteField> parseFields(String fields) {
+        Set<NoteField> parsed = EnumSet.noneOf(NoteField.class);
+        for (String name : fields.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            parsed.add(NoteField.fromJsonName(name.trim()).orElseThrow(() -> new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Unknown field '" + name.trim() + "'")));
+        }
+        if (parsed.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one field has to be requested");
+        }
+        return parsed;
+    }
+}
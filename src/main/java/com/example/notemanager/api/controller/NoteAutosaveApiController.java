@@ -0,0 +1,51 @@
+package com.example.notemanager.api.controller;
+
+import com.example.notemanager.api.model.dto.Mapper;
+import com.example.notemanager.api.model.dto.request.NoteUpdateRequest;
+import com.example.notemanager.model.Note;
+import com.example.notemanager.service.NoteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/notes")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "notes.autosave", name = "enabled", havingValue = "true")
+@Tag(name = "Note controller", description = "Provides operations for managing notes")
+public class NoteAutosaveApiController {
+    private final NoteService noteService;
+    private final Mapper<NoteUpdateRequest, Note> noteUpdateRequestMapper;
+
+    @Operation(
+            summary = "Autosave a note",
+            description = """
+                    Buffers the note's title and content and writes them after `notes.autosave.quiet-period`
+                    without further autosaves, at the latest after `notes.autosave.max-delay`.
+                    Only the latest autosave is written; reads of the note return it right away.
+                    """)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "The autosave is buffered", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid note data", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Note not found", content = @Content)
+    })
+    @PutMapping("/{id}/autosave")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void autosave(@PathVariable @Positive Long id,
+                         @Valid @RequestBody NoteUpdateRequest noteUpdateRequest) {
+        noteService.autosave(noteUpdateRequestMapper.map(noteUpdateRequest).withId(id));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.notemanager.api.controller;
+
+import com.example.notemanager.api.model.dto.Mapper;
+import com.example.notemanager.api.model.dto.request.NoteBatchOperationRequest;
+import com.example.notemanager.api.model.dto.request.NoteBatchRequest;
+import com.example.notemanager.api.model.dto.response.NoteBatchItemResponse;
+import com.example.notemanager.api.model.dto.response.NoteBatchResponse;
+import com.example.notemanager.api.model.dto.response.NoteResponse;
+import com.example.notemanager.model.Note;
+import com.example.notemanager.service.NoteBatchService;
+import com.example.notemanager.service.NoteOperation;
+import com.example.notemanager.service.NoteOperationResult;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// a controller of its own, a method mapping below /api/v1/notes always gets a '/' before ":batch"
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Note controller", description = "Provides operations for managing notes")
+public class NoteBatchApiController {
+    private final NoteBatchService noteBatchService;
+    private final Mapper<Note, NoteResponse> noteMapper;
+    private final int maxOperations;
+
+    public NoteBatchApiController(NoteBatchService noteBatchService,
+                                  Mapper<Note, NoteResponse> noteMapper,
+                                  @Value("${notes.batch.max-operations:100}") int maxOperations) {
+        this.noteBatchService = noteBatchService;
+        this.noteMapper = noteMapper;
+        this.maxOperations = maxOperations;
+    }
+
+    @Operation(
+            summary = "Run several note operations at once",
+            description = """
+                    Runs up to `notes.batch.max-operations` `GET`, `CREATE`, `UPDATE` and `DELETE` operations
+                    in one transaction and returns one result per operation, in request order.
+                    Every result carries its own HTTP status: `200`, `201`, `204`, `400` for invalid note data
+                    or `404` for notes that don't exist. A note id may occur in one operation only.
+                    """,
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = NoteBatchRequest.class),
+                            examples = @ExampleObject(value = """
+                                    { "operations": [
+                                        { "op": "GET", "id": 1 },
+                                        { "op": "UPDATE", "id": 2, "title": "Nap", "content": "Slept in the sun." },
+                                        { "op": "CREATE", "title": "Dinner", "content": "Tuna again." },
+                                        { "op": "DELETE", "id": 3 }
+                                    ] }""")
+                    )))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "The batch ran, see the status of every result"),
+            @ApiResponse(responseCode = "400", description = "Too many operations or a note id used more than once",
+                    content = @Content),
+            @ApiResponse(responseCode = "403", description = "User does not have permission to access this resource",
+                    content = @Content)
+    })
+    @PostMapping("/notes:batch")
+    public NoteBatchResponse batch(@Valid @RequestBody NoteBatchRequest request) {
+        List<NoteBatchOperationRequest> operations = request.operations();
+        if (operations.size() > maxOperations) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A batch may contain at most " + maxOperations + " operations");
+        }
+        Set<Long> ids = new HashSet<>();
+        for (NoteBatchOperationRequest operation : operations) {
+            if (operation.op() != NoteOperation.Type.CREATE
+                    && (operation.id() == null || !ids.add(operation.id()))) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Every operation except CREATE needs a note id that occurs only once in the batch");
+            }
+        }
+
+        List<NoteOperationResult> results = noteBatchService.execute(operations.stream()
+                .map(operation -> new NoteOperation(operation.op(), operation.id(), Note.builder()
+                        .title(operation.title())
+                        .content(operation.content())
+                        .build()))
+                .toList());
+        return new NoteBatchResponse(results.stream().map(this::toResponse).toList());
+    }
+
+    private NoteBatchItemResponse toResponse(NoteOperationResult result) {
+        HttpStatus status = switch (result.outcome()) {
+            case OK -> HttpStatus.OK;
+            case CREATED -> HttpStatus.CREATED;
+            case DELETED -> HttpStatus.NO_CONTENT;
+            case NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case INVALID -> HttpStatus.BAD_REQUEST;
+        };
+        return NoteBatchItemResponse.builder()
+                .status(status.value())
+                .id(result.id())
+                .note(result.note() != null ? noteMapper.map(result.note()) : null)
+                .error(result.error())
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.notemanager.api.controller;
+
+import com.example.notemanager.api.model.dto.request.JsonPatchOperation;
+import com.example.notemanager.model.NoteProjection;
+import com.example.notemanager.service.NotePatch;
+import com.example.notemanager.service.NotePatchService;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Iterator;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/notes")
+@RequiredArgsConstructor
+@Tag(name = "Note controller", description = "Provides operations for managing notes")
+public class NotePatchApiController {
+    public static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    public static final String JSON_PATCH_JSON = "application/json-patch+json";
+
+    private final NotePatchService notePatchService;
+
+    @Operation(
+            summary = "Change the title or content of a note",
+            description = """
+                    Applies an RFC 7396 merge patch, members that are left out stay as they are.
+                    Returns the note without its content.
+                    """,
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(
+                            mediaType = MERGE_PATCH_JSON,
+                            examples = @ExampleObject(value = "{ \"title\": \"My renamed note\" }"))))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully patched the note"),
+            @ApiResponse(responseCode = "400", description = "Unsupported member or empty value", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Note not found", content = @Content)
+    })
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON)
+    public NoteProjection mergePatch(@PathVariable @Positive Long id, @RequestBody JsonNode patch) {
+        if (!patch.isObject()) {
+            throw badRequest("A merge patch has to be a JSON object");
+        }
+        String title = null;
+        String content = null;
+        for (Iterator<String> names = patch.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            String value = textValue(patch.get(name));
+            switch (name) {
+                case "title" -> title = value;
+                case "content" -> content = value;
+                default -> throw badRequest("Member '" + name + "' can't be patched");
+            }
+        }
+        return notePatchService.patch(id, new NotePatch(title, content, null));
+    }
+
+    @Operation(
+            summary = "Change or append to a note",
+            description = """
+                    Applies RFC 6902 `add` and `replace` operations to `/title` and `/content`.
+                    `add` to `/content/-` appends the value to the content; a patch that only appends
+                    runs as a single statement without loading the note.
+                    Returns the note without its content.
+                    """,
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(
+                            mediaType = JSON_PATCH_JSON,
+                            examples = @ExampleObject(value = """
+                                    [ { "op": "add", "path": "/content/-", "value": "\\n12:00 fed the cat" } ]""")
+                    )))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully patched the note"),
+            @ApiResponse(responseCode = "400", description = "Unsupported operation, path or empty value",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Note not found", content = @Content)
+    })
+    @PatchMapping(value = "/{id}", consumes = JSON_PATCH_JSON)
+    public NoteProjection jsonPatch(@PathVariable @Positive Long id,
+                                    @RequestBody List<@Valid JsonPatchOperation> operations) {
+        if (operations.isEmpty()) {
+            throw badRequest("A patch needs at least one operation");
+        }
+        String title = null;
+        String content = null;
+        StringBuilder append = null;
+        for (JsonPatchOperation operation : operations) {
+            if (!"add".equals(operation.op()) && !"replace".equals(operation.op())) {
+                throw badRequest("Operation '" + operation.op() + "' is not supported");
+            }
+            String value = nonEmpty(operation.value());
+            switch (operation.path()) {
+                case "/title" -> title = value;
+                case "/content" -> {
+                    content = value;
+                    append = null;
+                }
+                case "/content/-" -> {
+                    if (!"add".equals(operation.op())) {
+                        throw badRequest("Only 'add' can append to the content");
+                    }
+                    if (content != null) {
+                        content += value;
+                    } else {
+                        append = append == null ? new StringBuilder(value) : append.append(value);
+                    }
+                }
+                default -> throw badRequest("Path '" + operation.path() + "' can't be patched");
+            }
+        }
+        return notePatchService.patch(id, new NotePatch(title, content, append != null ? append.toString() : null));
+    }
+
+    private static String textValue(JsonNode value) {
+        if (!value.isTextual()) {
+            throw badRequest("Title and content have to be non-empty strings");
+        }
+        return nonEmpty(value.asText());
+    }
+
+    private static String nonEmpty(String value) {
+        if (value == null || value.isEmpty()) {
+            throw badRequest("Title and content have to be non-empty strings");
+        }
+        return value;
+    }
+
+    private static ResponseStatusException badRequest(String reason) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, reason);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.notemanager.api.controller;
+
+import com.example.notemanager.repository.NoteRevisionSummary;
+import com.example.notemanager.service.NoteRevisionContent;
+import com.example.notemanager.service.NoteRevisionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/notes/{id}/revisions")
+@RequiredArgsConstructor
+@Tag(name = "Note controller", description = "Provides operations for managing notes")
+public class NoteRevisionApiController {
+    private final NoteRevisionService noteRevisionService;
+
+    @Operation(summary = "List the revisions of a note",
+            description = """
+                    Newest first, without content. `depth` is 0 for a revision stored as a full snapshot and
+                    otherwise the number of deltas since the last snapshot; `storedSize` is what the
+                    revision takes up in the database, in bytes.
+                    """)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the revisions"),
+            @ApiResponse(responseCode = "404", description = "Note not found", content = @Content)
+    })
+    @GetMapping
+    public Page<NoteRevisionSummary> list(@PathVariable @Positive Long id,
+                                          @RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "10") int size) {
+        return noteRevisionService.list(id, PageRequest.of(page, size));
+    }
+
+    @Operation(summary = "Get a revision of a note with its content")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully rebuilt the revision"),
+            @ApiResponse(responseCode = "404", description = "Note or revision not found", content = @Content)
+    })
+    @GetMapping("/{revision}")
+    public NoteRevisionContent get(@PathVariable @Positive Long id, @PathVariable @Positive int revision) {
+        return noteRevisionService.get(id, revision);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.notemanager.api.model.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One RFC 6902 operation. Only {@code add} and {@code replace} on {@code /title} and {@code /content}
+ * are supported, {@code add} on {@code /content/-} appends the value to the content.
+ */
+public record JsonPatchOperation(
+        @NotNull(message = "Operation must not be null") String op,
+        @NotNull(message = "Path must not be null") String path,
+        String value) {}
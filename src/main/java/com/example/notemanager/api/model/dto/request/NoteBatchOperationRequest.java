@@ -0,0 +1,13 @@
+package com.example.notemanager.api.model.dto.request;
+
+import com.example.notemanager.service.NoteOperation;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Title and content are checked per operation, an invalid one fails alone instead of the whole batch.
+ */
+public record NoteBatchOperationRequest(
+        @NotNull(message = "Operation must not be null") NoteOperation.Type op,
+        Long id,
+        String title,
+        String content) {}
@@ -0,0 +1,11 @@
+package com.example.notemanager.api.model.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record NoteBatchRequest(
+        @NotNull(message = "Operations must not be null")
+        @NotEmpty(message = "Operations must not be empty") List<@Valid NoteBatchOperationRequest> operations) {}
@@ -0,0 +1,12 @@
+package com.example.notemanager.api.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record NoteBatchItemResponse(int status,
+                                    Long id,
+                                    NoteResponse note,
+                                    String error) {
+}
@@ -0,0 +1,9 @@
+package com.example.notemanager.api.model.dto.response;
+
+import java.util.List;
+
+/**
+ * One result per operation, in the order of the request.
+ */
+public record NoteBatchResponse(List<NoteBatchItemResponse> results) {
+}
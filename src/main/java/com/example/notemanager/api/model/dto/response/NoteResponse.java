@@ -1,8 +1,15 @@
 package com.example.notemanager.api.model.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 
+/**
+ * Lists fill in {@code preview} instead of {@code content} unless the full content was asked for.
+ */
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record NoteResponse(String title,
-                           String content) {
-}
\ No newline at end of file
+                           String content,
+                           String preview,
+                           Integer contentLength) {
+}
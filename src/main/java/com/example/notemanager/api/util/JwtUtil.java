@@ -1,8 +1,11 @@
 package com.example.notemanager.api.util;
 
+import com.example.notemanager.diagnostics.JwtVerificationEvent;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -19,6 +22,14 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private long expirationTime;
 
+    private final Timer verifications;
+    private final Timer signings;
+
+    public JwtUtil(MeterRegistry meterRegistry) {
+        this.verifications = Timer.builder("notes.auth.jwt").tag("operation", "verify").register(meterRegistry);
+        this.signings = Timer.builder("notes.auth.jwt").tag("operation", "sign").register(meterRegistry);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -33,11 +44,20 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        try {
+            Claims claims = verifications.record(() -> Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload());
+            event.valid = true;
+            event.user = claims.getSubject();
+            return claims;
+        } finally {
+            event.finish();
+        }
     }
 
     private Boolean isTokenExpired(String token) {
@@ -49,12 +69,12 @@ public class JwtUtil {
     }
 
     private String createToken(String subject) {
-        return Jwts.builder()
+        return signings.record(() -> Jwts.builder()
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expirationTime))
                 .signWith(getSigningKey())
-                .compact();
+                .compact());
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
@@ -0,0 +1,29 @@
+package com.example.notemanager.config;
+
+import com.example.notemanager.service.NoteArchiveJob;
+import com.example.notemanager.service.NoteArchiveService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class ArchiveConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "notes.archive", name = "enabled", havingValue = "true")
+    public NoteArchiveJob noteArchiveJob(ArchiveProperties properties,
+                                        NoteArchiveService noteArchiveService,
+                                        PlatformTransactionManager transactionManager,
+                                        TaskScheduler taskScheduler,
+                                        MeterRegistry meterRegistry) {
+        return new NoteArchiveJob(noteArchiveService, new TransactionTemplate(transactionManager),
+                taskScheduler, meterRegistry, properties.coldAfter(), properties.batchSize(),
+                properties.interval(), properties.accessFlushInterval());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.notemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Archive tier for notes that haven't been read for a while, off by default. Reads are only tracked
+ * while it is enabled.
+ *
+ * @param coldAfter          notes not read or written for this long are archived
+ * @param interval           pause between two runs of the mover, every run archives all cold notes batch by batch
+ * @param accessFlushInterval how often tracked reads are written to {@code notes.last_accessed_at}
+ * @param accessResolution   a note's access time is only written again once it is older than this
+ */
+@ConfigurationProperties(prefix = "notes.archive")
+public record ArchiveProperties(boolean enabled,
+                                @DefaultValue("90d") Duration coldAfter,
+                                @DefaultValue("200") int batchSize,
+                                @DefaultValue("1h") Duration interval,
+                                @DefaultValue("1m") Duration accessFlushInterval,
+                                @DefaultValue("1h") Duration accessResolution) {
+}
@@ -0,0 +1,36 @@
+package com.example.notemanager.config;
+
+import com.example.notemanager.repository.NoteRepository;
+import com.example.notemanager.service.AutosaveBuffer;
+import com.example.notemanager.service.NoteArchiveService;
+import com.example.notemanager.service.ReadCoalescer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(AutosaveProperties.class)
+public class AutosaveConfig {
+
+    // always present so reads can look for buffered autosaves, it only schedules flushes when enabled
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public AutosaveBuffer autosaveBuffer(AutosaveProperties properties,
+                                         NoteRepository noteRepository,
+                                         ReadCoalescer readCoalescer,
+                                         NoteArchiveService noteArchiveService,
+                                         PlatformTransactionManager transactionManager,
+                                         TaskScheduler taskScheduler,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${notes.content.preview-length:200}") int previewLength) {
+        return new AutosaveBuffer(properties, noteRepository, readCoalescer, noteArchiveService,
+                new TransactionTemplate(transactionManager), taskScheduler, meterRegistry,
+                Clock.systemUTC(), previewLength);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.notemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Write-behind buffer of the autosave endpoint, off by default.
+ *
+ * @param quietPeriod   a note is written once it hasn't been autosaved for this long
+ * @param maxDelay      and at the latest this long after its first buffered autosave
+ * @param flushInterval how often the buffer looks for notes that are due
+ * @param batchSize     notes written per transaction
+ * @param maxPending    notes that may wait at the same time, autosaves beyond that are written right away
+ */
+@ConfigurationProperties(prefix = "notes.autosave")
+public record AutosaveProperties(boolean enabled,
+                                 @DefaultValue("2s") Duration quietPeriod,
+                                 @DefaultValue("10s") Duration maxDelay,
+                                 @DefaultValue("500ms") Duration flushInterval,
+                                 @DefaultValue("50") int batchSize,
+                                 @DefaultValue("10000") int maxPending) {
+}
@@ -3,6 +3,9 @@ package com.example.notemanager.config;
 import com.example.notemanager.model.User;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,10 +14,17 @@ import java.util.concurrent.TimeUnit;
 @Configuration
 public class CacheConfig {
     @Bean(name = "userCache")
-    public Cache<String, User> userCache() {
-        return Caffeine.newBuilder()
+    public Cache<String, User> userCache(MeterRegistry meterRegistry) {
+        Cache<String, User> cache = Caffeine.newBuilder()
                 .expireAfterAccess(15, TimeUnit.MINUTES)
                 .maximumSize(100)
+                .recordStats()
                 .build();
+        // cache.gets, cache.size and cache.evictions; the ratio saves computing it from the counters
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userCache");
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", "userCache")
+                .register(meterRegistry);
+        return cache;
     }
 }
\ No newline at end of file
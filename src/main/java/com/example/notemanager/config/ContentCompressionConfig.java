@@ -0,0 +1,30 @@
+package com.example.notemanager.config;
+
+import com.example.notemanager.repository.NoteRepository;
+import com.example.notemanager.service.NoteContentCompressionJob;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(ContentCompressionProperties.class)
+public class ContentCompressionConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "notes.content.compression", name = {"enabled", "migration.enabled"},
+            havingValue = "true")
+    public NoteContentCompressionJob noteContentCompressionJob(ContentCompressionProperties properties,
+                                                               NoteRepository noteRepository,
+                                                               PlatformTransactionManager transactionManager,
+                                                               TaskScheduler taskScheduler,
+                                                               MeterRegistry meterRegistry) {
+        return new NoteContentCompressionJob(noteRepository, new TransactionTemplate(transactionManager),
+                taskScheduler, meterRegistry, properties.minLength(),
+                properties.migration().batchSize(), properties.migration().interval());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.notemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Compressed storage of long note content.
+ *
+ * @param minLength     content of at least this many characters is stored compressed
+ * @param migration     background job compressing existing rows, off by default
+ */
+@ConfigurationProperties(prefix = "notes.content.compression")
+public record ContentCompressionProperties(boolean enabled,
+                                           @DefaultValue("8192") int minLength,
+                                           @DefaultValue Migration migration) {
+
+    /**
+     * @param interval pause between two runs, every run works through all candidate rows batch by batch
+     */
+    public record Migration(boolean enabled,
+                            @DefaultValue("200") int batchSize,
+                            @DefaultValue("10m") Duration interval) {
+    }
+}
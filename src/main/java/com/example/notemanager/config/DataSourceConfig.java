@@ -0,0 +1,151 @@
+package com.example.notemanager.config;
+
+import com.example.notemanager.datasource.ReadYourWritesTracker;
+import com.example.notemanager.datasource.ReplicaHealthChecker;
+import com.example.notemanager.datasource.ReplicaNode;
+import com.example.notemanager.datasource.ReplicaRoutingDataSource;
+import com.example.notemanager.datasource.StatementTimeout;
+import com.example.notemanager.datasource.Workload;
+import com.example.notemanager.datasource.WorkloadPools;
+import com.example.notemanager.datasource.WorkloadRoutingDataSource;
+import com.example.notemanager.diagnostics.QueryCountingListener;
+import com.example.notemanager.diagnostics.StatementObservationListener;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured single pool with one pool per {@link Workload}. Reads go to replicas
+ * instead of the read pool when {@code notes.datasource.replicas.urls} is set.
+ */
+@Configuration
+@EnableConfigurationProperties({WorkloadPoolProperties.class, ReplicaProperties.class})
+public class DataSourceConfig {
+
+    @Bean
+    public WorkloadPools workloadPools(DataSourceProperties dataSourceProperties,
+                                       WorkloadPoolProperties workloadPoolProperties,
+                                       MeterRegistry meterRegistry) {
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            WorkloadPoolProperties.Pool pool = workloadPoolProperties.pool(workload);
+            HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            dataSource.setPoolName(workload.name().toLowerCase());
+            dataSource.setMaximumPoolSize(pool.maximumPoolSize());
+            dataSource.setMinimumIdle(Math.min(pool.minimumIdle(), pool.maximumPoolSize()));
+            dataSource.setConnectionTimeout(pool.connectionTimeout().toMillis());
+            if (pool.statementTimeout() != null) {
+                StatementTimeout.apply(dataSource, pool.statementTimeout());
+            }
+            // publishes hikaricp.connections.acquire and friends, tagged with the pool name
+            dataSource.setMetricRegistry(meterRegistry);
+            pools.put(workload, dataSource);
+        }
+        return new WorkloadPools(pools);
+    }
+
+    /**
+     * Migrations run outside a transaction and would otherwise land on the write pool, whose statement timeout
+     * cancels single-statement backfills like V4's preview update or V8's batch copy loop. This pool has no
+     * statement timeout and keeps no connection once the migrations are done.
+     */
+    @Bean
+    @FlywayDataSource
+    public HikariDataSource migrationDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("migration");
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setMinimumIdle(0);
+        StatementTimeout.apply(dataSource, Duration.ZERO);
+        return dataSource;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "notes.datasource.replicas", name = "urls")
+    public ReplicaHealthChecker replicaHealthChecker(ReplicaProperties replicaProperties,
+                                                     DataSourceProperties dataSourceProperties,
+                                                     TaskScheduler taskScheduler,
+                                                     MeterRegistry meterRegistry) {
+        List<ReplicaNode> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.urls().size(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replicaProperties.urls().get(i));
+            dataSource.setUsername(replicaProperties.username() != null
+                    ? replicaProperties.username() : dataSourceProperties.determineUsername());
+            dataSource.setPassword(replicaProperties.password() != null
+                    ? replicaProperties.password() : dataSourceProperties.determinePassword());
+            dataSource.setMaximumPoolSize(replicaProperties.maximumPoolSize());
+            dataSource.setConnectionTimeout(replicaProperties.connectionTimeout().toMillis());
+            dataSource.setReadOnly(true);
+            dataSource.setMetricRegistry(meterRegistry);
+            replicas.add(new ReplicaNode(dataSource.getPoolName(), dataSource));
+        }
+        return new ReplicaHealthChecker(replicas, taskScheduler,
+                replicaProperties.healthCheckInterval(), replicaProperties.maxLag());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "notes.datasource.replicas", name = "urls")
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties replicaProperties) {
+        return new ReadYourWritesTracker(replicaProperties.readYourWritesWindow());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadPools workloadPools,
+                                 ReplicaProperties replicaProperties,
+                                 ObjectProvider<ReadYourWritesTracker> readYourWritesTracker,
+                                 ObjectProvider<ReplicaHealthChecker> replicaHealthChecker,
+                                 QueryCountProperties queryCountProperties,
+                                 TracingProperties tracingProperties,
+                                 MeterRegistry meterRegistry,
+                                 ObservationRegistry observationRegistry) {
+        Map<Workload, DataSource> targets = new EnumMap<>(workloadPools.asMap());
+        ReplicaHealthChecker healthChecker = replicaHealthChecker.getIfAvailable();
+        if (healthChecker != null) {
+            ReplicaRoutingDataSource replicaRouting = new ReplicaRoutingDataSource(workloadPools.get(Workload.READ),
+                    healthChecker.getReplicas(), replicaProperties.eligibleTransactions(),
+                    readYourWritesTracker.getObject(), healthChecker, meterRegistry);
+            replicaRouting.afterPropertiesSet();
+            targets.put(Workload.READ, replicaRouting);
+        }
+        WorkloadRoutingDataSource routingDataSource =
+                new WorkloadRoutingDataSource(targets, readYourWritesTracker.getIfAvailable());
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        if (!queryCountProperties.enabled() && !tracingProperties.jdbc()) {
+            return dataSource;
+        }
+        ProxyDataSourceBuilder proxy = ProxyDataSourceBuilder.create(dataSource).name("notes");
+        if (queryCountProperties.enabled()) {
+            proxy.listener(new QueryCountingListener());
+        }
+        if (tracingProperties.jdbc()) {
+            proxy.listener(new StatementObservationListener(observationRegistry));
+        }
+        return proxy.build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.notemanager.config;
+
+import com.example.notemanager.diagnostics.FlightRecorderEndpoint;
+import com.example.notemanager.diagnostics.FlightRecorderFilter;
+import com.example.notemanager.diagnostics.FlightRecordings;
+import com.example.notemanager.diagnostics.RepositoryCallAspect;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.nio.file.Path;
+
+@Configuration
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+public class FlightRecorderConfig {
+
+    // right after the statement counting, the request event covers authentication as well
+    @Bean
+    public FilterRegistrationBean<FlightRecorderFilter> flightRecorderFilter() {
+        FilterRegistrationBean<FlightRecorderFilter> registration =
+                new FilterRegistrationBean<>(new FlightRecorderFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Bean
+    public RepositoryCallAspect repositoryCallAspect() {
+        return new RepositoryCallAspect();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public FlightRecordings flightRecordings(FlightRecorderProperties properties) {
+        Path dumpDirectory = properties.dumpDirectory() != null ? properties.dumpDirectory()
+                : Path.of(System.getProperty("java.io.tmpdir"), "notes-jfr");
+        return new FlightRecordings(properties.continuous(), properties.maxAge(), properties.maxSize().toBytes(),
+                dumpDirectory, properties.requestThreshold(), properties.operationThreshold());
+    }
+
+    @Bean
+    public FlightRecorderEndpoint flightRecorderEndpoint(FlightRecordings flightRecordings) {
+        return new FlightRecorderEndpoint(flightRecordings);
+    }
+}
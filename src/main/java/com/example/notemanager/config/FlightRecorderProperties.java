@@ -0,0 +1,28 @@
+package com.example.notemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Flight recorder events of the application and the recordings kept of them.
+ *
+ * @param continuous         keep a recording running from startup, dumpable at any time
+ * @param maxAge             how much history a recording keeps on disk
+ * @param maxSize            and at most how much data
+ * @param dumpDirectory      where dumps are written, {@code notes-jfr} in the temp directory by default;
+ *                           they are not cleaned up
+ * @param requestThreshold   requests that are faster are not recorded
+ * @param operationThreshold same for token checks, password checks, user cache lookups and repository calls
+ */
+@ConfigurationProperties(prefix = "notes.jfr")
+public record FlightRecorderProperties(@DefaultValue("true") boolean continuous,
+                                       @DefaultValue("30m") Duration maxAge,
+                                       @DefaultValue("250MB") DataSize maxSize,
+                                       Path dumpDirectory,
+                                       @DefaultValue("50ms") Duration requestThreshold,
+                                       @DefaultValue("5ms") Duration operationThreshold) {
+}
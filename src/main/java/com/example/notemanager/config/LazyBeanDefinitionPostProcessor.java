@@ -0,0 +1,61 @@
+package com.example.notemanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.type.MethodMetadata;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Marks the beans whose class, or the configuration class declaring them, starts with one of the prefixes
+ * as lazy, so they are created on first use instead of during startup. Unlike
+ * {@code spring.main.lazy-initialization} everything else, the datasource and the security filters above all,
+ * stays eager and the first request doesn't pay for it.
+ */
+public class LazyBeanDefinitionPostProcessor implements BeanFactoryPostProcessor {
+    private static final Logger log = LoggerFactory.getLogger(LazyBeanDefinitionPostProcessor.class);
+
+    private final List<String> prefixes;
+
+    public LazyBeanDefinitionPostProcessor(List<String> prefixes) {
+        this.prefixes = prefixes;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        int lazy = 0;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.isLazyInit() || definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+                continue;
+            }
+            if (typeNames(definition).stream().anyMatch(this::matches)) {
+                definition.setLazyInit(true);
+                lazy++;
+            }
+        }
+        log.info("{} beans matching {} are initialized lazily", lazy, prefixes);
+    }
+
+    private boolean matches(String typeName) {
+        return prefixes.stream().anyMatch(typeName::startsWith);
+    }
+
+    private static List<String> typeNames(BeanDefinition definition) {
+        List<String> names = new ArrayList<>(3);
+        if (definition.getBeanClassName() != null) {
+            names.add(definition.getBeanClassName());
+        }
+        if (definition instanceof AnnotatedBeanDefinition annotated && annotated.getFactoryMethodMetadata() != null) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            names.add(factoryMethod.getDeclaringClassName());
+            names.add(factoryMethod.getReturnTypeName());
+        }
+        return names;
+    }
+}
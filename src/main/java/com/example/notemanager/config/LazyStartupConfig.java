@@ -0,0 +1,26 @@
+package com.example.notemanager.config;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * The {@code lazy} profile, see {@code application-lazy.properties}.
+ */
+@Configuration
+@Profile("lazy")
+public class LazyStartupConfig {
+
+    // static and bound by hand, a bean factory post processor runs before configuration properties exist
+    @Bean
+    public static LazyBeanDefinitionPostProcessor lazyBeanDefinitionPostProcessor(Environment environment) {
+        return new LazyBeanDefinitionPostProcessor(Binder.get(environment)
+                .bind("notes.startup.lazy-beans", Bindable.listOf(String.class))
+                .orElse(List.of()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.notemanager.config;
+
+import com.example.notemanager.logging.CountingAsyncAppender;
+import com.example.notemanager.logging.RateLimitedLogger;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LoggingConfig {
+
+    // the appender is set up by logback before there is a context, its counts are static
+    @Bean
+    public MeterBinder loggingMetrics() {
+        return registry -> {
+            FunctionCounter.builder("notes.logging.dropped", CountingAsyncAppender.class,
+                            appender -> CountingAsyncAppender.discarded())
+                    .description("Log events the async appender left out")
+                    .tag("reason", "discarding-threshold")
+                    .register(registry);
+            FunctionCounter.builder("notes.logging.dropped", CountingAsyncAppender.class,
+                            appender -> CountingAsyncAppender.dropped())
+                    .description("Log events the async appender left out")
+                    .tag("reason", "queue-full")
+                    .register(registry);
+            FunctionCounter.builder("notes.logging.suppressed", RateLimitedLogger.class,
+                            logger -> RateLimitedLogger.suppressed())
+                    .description("Hot path log messages above the rate limit")
+                    .register(registry);
+        };
+    }
+}
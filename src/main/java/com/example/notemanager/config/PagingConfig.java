@@ -0,0 +1,20 @@
+package com.example.notemanager.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(PagingProperties.class)
+public class PagingConfig {
+    // the security context is carried over so that read-your-writes routing sees the requesting user
+    @Bean(name = "pagedQueryExecutorService", destroyMethod = "shutdown")
+    public ExecutorService pagedQueryExecutorService() {
+        return new DelegatingSecurityContextExecutorService(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("paged-query-", 0).factory()));
+    }
+}
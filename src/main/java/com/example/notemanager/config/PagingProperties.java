@@ -0,0 +1,26 @@
+package com.example.notemanager.config;
+
+import com.example.notemanager.service.PagedEndpoint;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings of the paged read path in {@code NoteService}.
+ *
+ * @param concurrent  endpoints whose page content and COUNT queries run in parallel
+ * @param maxInFlight upper bound of concurrently executed paged reads; every one of them holds
+ *                    one extra pooled connection, above the bound reads fall back to sequential
+ * @param timeout     how long the request thread waits for both queries
+ */
+@ConfigurationProperties(prefix = "notes.paging")
+public record PagingProperties(@DefaultValue Map<PagedEndpoint, Boolean> concurrent,
+                               @DefaultValue("4") int maxInFlight,
+                               @DefaultValue("30s") Duration timeout) {
+
+    public boolean isConcurrent(PagedEndpoint endpoint) {
+        return Boolean.TRUE.equals(concurrent.get(endpoint));
+    }
+}
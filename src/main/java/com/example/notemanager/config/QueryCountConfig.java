@@ -0,0 +1,24 @@
+package com.example.notemanager.config;
+
+import com.example.notemanager.diagnostics.QueryCountFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(QueryCountProperties.class)
+public class QueryCountConfig {
+
+    // ahead of the security filters, the user lookup of the authentication is part of the request
+    @Bean
+    @ConditionalOnProperty(prefix = "notes.query-count", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(QueryCountProperties properties) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(new QueryCountFilter(
+                properties.maxStatements(), properties.maxTime(), properties.responseHeaders()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.notemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Statement counting per request, off by default.
+ *
+ * @param maxStatements  requests with more statements are logged
+ * @param maxTime        requests whose statements took longer in total are logged
+ * @param responseHeaders return count and time as {@code X-Query-Count} / {@code X-Query-Time-Ms}, for tests
+ */
+@ConfigurationProperties(prefix = "notes.query-count")
+public record QueryCountProperties(boolean enabled,
+                                   @DefaultValue("20") long maxStatements,
+                                   @DefaultValue("500ms") Duration maxTime,
+                                   boolean responseHeaders) {
+}
@@ -0,0 +1,29 @@
+package com.example.notemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Streaming replicas used for read-only service transactions, in place of the primary's read pool.
+ *
+ * @param urls                  JDBC urls of the replicas, credentials default to the primary ones;
+ *                              reads stay on the read pool when empty
+ * @param eligibleTransactions  prefixes of read-only transaction names that may be served by a replica
+ * @param readYourWritesWindow  how long reads of a user stay on the primary after the user wrote
+ * @param maxLag                replicas lagging further behind are taken out of rotation
+ * @param connectionTimeout     kept short so that a replica going away fails over to the primary quickly
+ */
+@ConfigurationProperties(prefix = "notes.datasource.replicas")
+public record ReplicaProperties(@DefaultValue List<String> urls,
+                                String username,
+                                String password,
+                                @DefaultValue("5") int maximumPoolSize,
+                                @DefaultValue("com.example.notemanager.service.") List<String> eligibleTransactions,
+                                @DefaultValue("5s") Duration readYourWritesWindow,
+                                @DefaultValue("5s") Duration healthCheckInterval,
+                                @DefaultValue("10s") Duration maxLag,
+                                @DefaultValue("2s") Duration connectionTimeout) {
+}
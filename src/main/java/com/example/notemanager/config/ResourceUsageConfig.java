@@ -0,0 +1,27 @@
+package com.example.notemanager.config;
+
+import com.example.notemanager.diagnostics.ResourceUsageFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(ResourceUsageProperties.class)
+public class ResourceUsageConfig {
+
+    // ahead of the security filters like the statement counting, authentication is part of the request
+    @Bean
+    @ConditionalOnProperty(prefix = "notes.resource-usage", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ResourceUsageFilter> resourceUsageFilter(ResourceUsageProperties properties,
+                                                                           MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ResourceUsageFilter> registration = new FilterRegistrationBean<>(new ResourceUsageFilter(
+                meterRegistry, properties.sampleRate(), properties.maxCpuTime(),
+                properties.maxAllocated().toBytes(), properties.responseHeaders()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
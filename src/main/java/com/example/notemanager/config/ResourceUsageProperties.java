@@ -0,0 +1,23 @@
+package com.example.notemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * CPU time and allocation accounting per request.
+ *
+ * @param sampleRate      share of the requests that are measured, 1 for all
+ * @param maxCpuTime      requests that used more CPU time are logged
+ * @param maxAllocated    requests that allocated more are logged
+ * @param responseHeaders return the figures as {@code X-Cpu-Time-Ms} / {@code X-Allocated-Bytes}, for tests
+ */
+@ConfigurationProperties(prefix = "notes.resource-usage")
+public record ResourceUsageProperties(@DefaultValue("true") boolean enabled,
+                                      @DefaultValue("0.1") double sampleRate,
+                                      @DefaultValue("200ms") Duration maxCpuTime,
+                                      @DefaultValue("64MB") DataSize maxAllocated,
+                                      boolean responseHeaders) {
+}
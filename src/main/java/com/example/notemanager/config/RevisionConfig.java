@@ -0,0 +1,16 @@
+package com.example.notemanager.config;
+
+import com.example.notemanager.model.converter.RevisionDeltaCodec;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RevisionProperties.class)
+public class RevisionConfig {
+
+    @Bean
+    public RevisionDeltaCodec revisionDeltaCodec() {
+        return new RevisionDeltaCodec();
+    }
+}
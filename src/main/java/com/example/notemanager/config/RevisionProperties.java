@@ -0,0 +1,15 @@
+package com.example.notemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Revision history written by note updates.
+ *
+ * @param snapshotInterval at most this many revisions in a row are deltas, rebuilding one applies
+ *                         fewer deltas than that to the last snapshot
+ */
+@ConfigurationProperties(prefix = "notes.revisions")
+public record RevisionProperties(@DefaultValue("true") boolean enabled,
+                                 @DefaultValue("20") int snapshotInterval) {
+}
@@ -0,0 +1,28 @@
+package com.example.notemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Hibernate second-level cache, e.g. {@code notes.second-level-cache.regions.notes.maximum-size}.
+ *
+ * @param regions settings per cache region, regions without an entry are bounded by the defaults
+ */
+@ConfigurationProperties(prefix = "notes.second-level-cache")
+public record SecondLevelCacheProperties(boolean enabled,
+                                         @DefaultValue Map<String, Region> regions) {
+    private static final Region DEFAULT_REGION = new Region(1000, null);
+
+    public Region region(String name) {
+        return regions.getOrDefault(name, DEFAULT_REGION);
+    }
+
+    /**
+     * @param expireAfterWrite entries never expire if unset, they are still evicted by size and on writes
+     */
+    public record Region(@DefaultValue("1000") long maximumSize, Duration expireAfterWrite) {
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.notemanager.config;
 
+import com.example.notemanager.datasource.Workload;
+import com.example.notemanager.datasource.WorkloadContext;
 import com.example.notemanager.exception.EntityException;
 import com.example.notemanager.exception.ExceptionMessages;
 import com.example.notemanager.security.CustomUserDetails;
+import com.example.notemanager.security.TimedPasswordEncoder;
 import com.example.notemanager.model.User;
 import com.example.notemanager.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -20,14 +24,14 @@ public class SecurityConfig {
     }
 
     @Bean(name = "passEncoder")
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     @Bean(name = "userDetails")
     public UserDetailsService userDetailsService() {
         return username -> {
-            User user = userRepository.findByUserName(username)
+            User user = WorkloadContext.call(Workload.AUTH, () -> userRepository.findByUserName(username))
                     .orElseThrow(() -> new EntityException(ExceptionMessages.USER_NOT_FOUND.getMessage()));
             return new CustomUserDetails(user);
         };
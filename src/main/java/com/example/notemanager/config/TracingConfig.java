@@ -0,0 +1,33 @@
+package com.example.notemanager.config;
+
+import com.example.notemanager.diagnostics.OtlpJsonFileSpanExporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * HTTP requests and the security filters are observed by Spring itself, {@link ObservedAspect} adds the
+ * services and {@code DataSourceConfig} the JDBC statements. The OpenTelemetry bridge turns the observations
+ * into spans and puts trace and span id into the MDC of the log events.
+ */
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+
+    // makes @Observed work, e.g. on NoteService and UserService
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    // picked up by the tracing auto-configuration like any other SpanExporter bean
+    @Bean
+    @ConditionalOnProperty(prefix = "notes.tracing", name = "file")
+    public OtlpJsonFileSpanExporter otlpJsonFileSpanExporter(TracingProperties properties, ObjectMapper objectMapper) {
+        return new OtlpJsonFileSpanExporter(properties.file(), objectMapper);
+    }
+}
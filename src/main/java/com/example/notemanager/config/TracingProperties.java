@@ -0,0 +1,17 @@
+package com.example.notemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Application side of the tracing, sampling is {@code management.tracing.sampling.probability}.
+ *
+ * @param file spans are appended to this file as OTLP JSON lines, none are written without it
+ * @param jdbc observe every JDBC statement as a span
+ */
+@ConfigurationProperties(prefix = "notes.tracing")
+public record TracingProperties(Path file,
+                                @DefaultValue("true") boolean jdbc) {
+}
@@ -0,0 +1,29 @@
+package com.example.notemanager.config;
+
+import com.example.notemanager.service.UserDeletionService;
+import com.example.notemanager.service.UserPurgeJob;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(UserPurgeProperties.class)
+public class UserPurgeConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "notes.user-purge", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public UserPurgeJob userPurgeJob(UserPurgeProperties properties,
+                                     UserDeletionService userDeletionService,
+                                     PlatformTransactionManager transactionManager,
+                                     TaskScheduler taskScheduler,
+                                     MeterRegistry meterRegistry) {
+        return new UserPurgeJob(userDeletionService, new TransactionTemplate(transactionManager),
+                taskScheduler, meterRegistry, properties.chunkSize(), properties.chunkDelay(),
+                properties.interval());
+    }
+}
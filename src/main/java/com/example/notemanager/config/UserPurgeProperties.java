@@ -0,0 +1,21 @@
+package com.example.notemanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Background purge of deleted accounts. Without it deleted users stay locked out but their notes are
+ * never removed.
+ *
+ * @param chunkSize  notes removed per transaction
+ * @param chunkDelay pause after every chunk, throttles the purge of a user with many notes
+ * @param interval   how often to look for new deletions while there is nothing to purge
+ */
+@ConfigurationProperties(prefix = "notes.user-purge")
+public record UserPurgeProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("1000") int chunkSize,
+                                  @DefaultValue("200ms") Duration chunkDelay,
+                                  @DefaultValue("30s") Duration interval) {
+}
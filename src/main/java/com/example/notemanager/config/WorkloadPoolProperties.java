@@ -0,0 +1,31 @@
+package com.example.notemanager.config;
+
+import com.example.notemanager.datasource.Workload;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * One connection pool per {@link Workload}, e.g. {@code notes.datasource.pools.auth.maximum-pool-size}.
+ * Url and credentials are taken from {@code spring.datasource}.
+ */
+@ConfigurationProperties(prefix = "notes.datasource")
+public record WorkloadPoolProperties(@DefaultValue Map<Workload, Pool> pools) {
+    private static final Pool DEFAULT_POOL = new Pool(5, 1, Duration.ofSeconds(30), null);
+
+    public Pool pool(Workload workload) {
+        return pools.getOrDefault(workload, DEFAULT_POOL);
+    }
+
+    /**
+     * @param connectionTimeout how long a caller waits for a free connection before failing
+     * @param statementTimeout  server side limit for every statement on the pool's connections, none if unset
+     */
+    public record Pool(@DefaultValue("5") int maximumPoolSize,
+                       @DefaultValue("1") int minimumIdle,
+                       @DefaultValue("30s") Duration connectionTimeout,
+                       Duration statementTimeout) {
+    }
+}
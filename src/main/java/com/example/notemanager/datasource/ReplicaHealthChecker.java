@@ -0,0 +1,95 @@
+package com.example.notemanager.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Periodically probes every replica and takes it out of rotation when it can't be reached
+ * or its replay lag exceeds the configured limit. Replicas start unhealthy, reads go to
+ * the primary until the first successful probe.
+ */
+public class ReplicaHealthChecker {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthChecker.class);
+    private static final String REPLAY_LAG_QUERY = "SELECT CASE WHEN pg_is_in_recovery() " +
+            "THEN COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) ELSE 0 END";
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<ReplicaNode> replicas;
+    private final TaskScheduler taskScheduler;
+    private final Duration interval;
+    private final Duration maxLag;
+    private ScheduledFuture<?> schedule;
+
+    public ReplicaHealthChecker(List<ReplicaNode> replicas, TaskScheduler taskScheduler,
+                                Duration interval, Duration maxLag) {
+        this.replicas = replicas;
+        this.taskScheduler = taskScheduler;
+        this.interval = interval;
+        this.maxLag = maxLag;
+    }
+
+    public void start() {
+        schedule = taskScheduler.scheduleWithFixedDelay(this::checkAll, interval);
+    }
+
+    public void stop() {
+        if (schedule != null) {
+            schedule.cancel(false);
+        }
+        for (ReplicaNode replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close replica {}: {}", replica.getName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    public List<ReplicaNode> getReplicas() {
+        return replicas;
+    }
+
+    public void checkAll() {
+        replicas.forEach(this::check);
+    }
+
+    public void markUnhealthy(ReplicaNode replica, Exception cause) {
+        if (replica.isHealthy()) {
+            log.warn("Replica {} taken out of rotation: {}", replica.getName(), cause.getMessage());
+        }
+        replica.setHealthy(false);
+    }
+
+    private void check(ReplicaNode replica) {
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                throw new SQLException("Connection validation failed");
+            }
+            try (ResultSet resultSet = statement.executeQuery(REPLAY_LAG_QUERY)) {
+                resultSet.next();
+                double lagSeconds = resultSet.getDouble(1);
+                if (lagSeconds * 1000 > maxLag.toMillis()) {
+                    throw new SQLException("Replay lag of " + lagSeconds + "s exceeds " + maxLag);
+                }
+            }
+            if (!replica.isHealthy()) {
+                log.info("Replica {} is healthy, adding it to rotation", replica.getName());
+            }
+            replica.setHealthy(true);
+        } catch (SQLException e) {
+            markUnhealthy(replica, e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.notemanager.datasource;
+
+import javax.sql.DataSource;
+
+public class ReplicaNode {
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy;
+
+    public ReplicaNode(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.notemanager.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions of the service layer to a healthy replica and everything else to the primary.
+ * Writes are recorded with the {@link ReadYourWritesTracker} by {@link WorkloadRoutingDataSource}, which
+ * doesn't hand them to this data source.
+ * Must be wrapped into a {@code LazyConnectionDataSourceProxy}: the read-only flag of a transaction
+ * is only known after the transaction manager asked for a connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final String PRIMARY = "primary";
+
+    private final List<ReplicaNode> replicas;
+    private final List<String> eligibleTransactions;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ReplicaHealthChecker healthChecker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+    private final Counter failovers;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    List<ReplicaNode> replicas,
+                                    List<String> eligibleTransactions,
+                                    ReadYourWritesTracker readYourWritesTracker,
+                                    ReplicaHealthChecker healthChecker,
+                                    MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.eligibleTransactions = eligibleTransactions;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.healthChecker = healthChecker;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.primaryReads = Counter.builder("notes.datasource.reads").tag("target", PRIMARY).register(meterRegistry);
+        this.replicaReads = Counter.builder("notes.datasource.reads").tag("target", "replica").register(meterRegistry);
+        this.failovers = Counter.builder("notes.datasource.replica.failovers").register(meterRegistry);
+        meterRegistry.gauge("notes.datasource.replicas.healthy", replicas,
+                nodes -> nodes.stream().filter(ReplicaNode::isHealthy).count());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !isEligible(TransactionSynchronizationManager.getCurrentTransactionName())) {
+            return PRIMARY;
+        }
+        String username = currentUsername();
+        if (username != null && readYourWritesTracker.isSticky(username)) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+        ReplicaNode replica = nextHealthyReplica();
+        if (replica == null) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        return replica.getName();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        DataSource target = resolveTarget(key);
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            ReplicaNode replica = findReplica(key);
+            if (replica == null) {
+                throw e;
+            }
+            healthChecker.markUnhealthy(replica, e);
+            failovers.increment();
+            return resolveTarget(PRIMARY).getConnection();
+        }
+    }
+
+    private DataSource resolveTarget(Object key) {
+        DataSource dataSource = getResolvedDataSources().get(key);
+        return dataSource != null ? dataSource : getResolvedDefaultDataSource();
+    }
+
+    private ReplicaNode nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaNode replica = replicas.get((start + i) % size);
+            if (replica.isHealthy()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private ReplicaNode findReplica(Object key) {
+        return replicas.stream()
+                .filter(replica -> replica.getName().equals(key))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private boolean isEligible(String transactionName) {
+        return transactionName != null && eligibleTransactions.stream().anyMatch(transactionName::startsWith);
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
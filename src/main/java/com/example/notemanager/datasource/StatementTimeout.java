@@ -0,0 +1,39 @@
+package com.example.notemanager.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.postgresql.Driver;
+
+import java.time.Duration;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * Sets {@code statement_timeout} on every connection of a pool through pgjdbc's {@code options} property.
+ * Options in the url would win over the property, so they are moved from the url into it.
+ */
+public final class StatementTimeout {
+    private static final String OPTIONS = "options";
+    private static final Pattern OPTIONS_PARAMETER = Pattern.compile("(?<=[?&])options=[^&]*(&|$)");
+
+    private StatementTimeout() {
+    }
+
+    /**
+     * @throws IllegalStateException if the url already sets a statement timeout of its own
+     */
+    public static void apply(HikariDataSource dataSource, Duration timeout) {
+        String url = dataSource.getJdbcUrl();
+        Properties parsed = url != null ? Driver.parseURL(url, null) : null;
+        String urlOptions = parsed != null ? parsed.getProperty(OPTIONS) : null;
+        String options = "-c statement_timeout=" + timeout.toMillis();
+        if (urlOptions != null) {
+            if (urlOptions.contains("statement_timeout")) {
+                throw new IllegalStateException("The datasource url sets statement_timeout in its options, "
+                        + "set notes.datasource.pools.<workload>.statement-timeout instead");
+            }
+            options = urlOptions + " " + options;
+            dataSource.setJdbcUrl(OPTIONS_PARAMETER.matcher(url).replaceFirst("").replaceFirst("[?&]$", ""));
+        }
+        dataSource.addDataSourceProperty(OPTIONS, options);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.notemanager.datasource;
+
+public enum Workload {
+    AUTH,
+    READ,
+    WRITE,
+    BULK
+}
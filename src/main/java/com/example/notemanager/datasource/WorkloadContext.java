@@ -0,0 +1,57 @@
+package com.example.notemanager.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Tags the database work of the current thread with the connection pool it has to use.
+ * Work without a tag is routed by the transaction: read-only ones to {@link Workload#READ},
+ * everything else to {@link Workload#WRITE}.
+ * <p>
+ * A tag only routes transactions that start inside it. A transaction that was already open when the tag
+ * was set keeps being routed by its own flags: it may not have a connection yet, and the tagged call
+ * would otherwise pull all of it onto the tag's pool.
+ */
+public final class WorkloadContext {
+    private static final ThreadLocal<Tag> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * @return the workload to route the current work by, {@code null} if it isn't tagged or the tag was set
+     * inside the current transaction
+     */
+    public static Workload current() {
+        Tag tag = CURRENT.get();
+        if (tag == null || tag.insideTransaction()) {
+            return null;
+        }
+        return tag.workload();
+    }
+
+    public static <T> T call(Workload workload, Supplier<T> work) {
+        Tag previous = CURRENT.get();
+        CURRENT.set(new Tag(workload, TransactionSynchronizationManager.isActualTransactionActive()));
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void run(Workload workload, Runnable work) {
+        call(workload, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private record Tag(Workload workload, boolean insideTransaction) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.notemanager.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Owns the per-workload connection pools, closes them on shutdown.
+ */
+public class WorkloadPools implements AutoCloseable {
+    private final Map<Workload, HikariDataSource> pools;
+
+    public WorkloadPools(Map<Workload, HikariDataSource> pools) {
+        this.pools = new EnumMap<>(pools);
+    }
+
+    public DataSource get(Workload workload) {
+        return pools.get(workload);
+    }
+
+    public Map<Workload, DataSource> asMap() {
+        return Collections.unmodifiableMap(pools);
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.notemanager.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Picks the connection pool by workload, so that a burst of one kind of work (a slow search scan,
+ * a background job) can't starve the others, most importantly login. Like every routing data source
+ * it must sit behind a {@code LazyConnectionDataSourceProxy}.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    /**
+     * @param readYourWritesTracker notified about read-write transactions, {@code null} without replicas
+     */
+    public WorkloadRoutingDataSource(Map<Workload, DataSource> targets, ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        setTargetDataSources(new HashMap<>(targets));
+        setDefaultTargetDataSource(targets.get(Workload.WRITE));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly && TransactionSynchronizationManager.isActualTransactionActive()) {
+            markWrite();
+        }
+        Workload workload = WorkloadContext.current();
+        if (workload != null) {
+            return workload;
+        }
+        return readOnly ? Workload.READ : Workload.WRITE;
+    }
+
+    private void markWrite() {
+        if (readYourWritesTracker == null) {
+            return;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            readYourWritesTracker.markWrite(authentication.getName());
+        }
+    }
+}
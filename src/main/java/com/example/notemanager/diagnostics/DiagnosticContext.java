@@ -0,0 +1,45 @@
+package com.example.notemanager.diagnostics;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Endpoint and user of the request the current thread works for, attached to the flight recorder events.
+ * The user is set explicitly where it is known before authentication finished (token subject, login form),
+ * otherwise it comes from the security context.
+ */
+public final class DiagnosticContext {
+    private static final ThreadLocal<String> ENDPOINT = new ThreadLocal<>();
+    private static final ThreadLocal<String> USER = new ThreadLocal<>();
+
+    private DiagnosticContext() {
+    }
+
+    static void begin(String endpoint) {
+        ENDPOINT.set(endpoint);
+    }
+
+    static void end() {
+        ENDPOINT.remove();
+        USER.remove();
+    }
+
+    public static void user(String user) {
+        if (ENDPOINT.get() != null) {
+            USER.set(user);
+        }
+    }
+
+    public static String endpoint() {
+        return ENDPOINT.get();
+    }
+
+    public static String user() {
+        String user = USER.get();
+        if (user != null) {
+            return user;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
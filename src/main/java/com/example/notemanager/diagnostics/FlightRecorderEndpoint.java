@@ -0,0 +1,102 @@
+package com.example.notemanager.diagnostics;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Controls the flight recordings on the management port:
+ * <ul>
+ *     <li>{@code GET /actuator/jfr} lists the recordings</li>
+ *     <li>{@code POST /actuator/jfr/{name}/start} with an optional {@code {"duration": "2m"}}
+ *     and {@code POST /actuator/jfr/{name}/stop}</li>
+ *     <li>{@code GET /actuator/jfr/{name}} dumps the recording and downloads the file, which is deleted
+ *     once it has been sent</li>
+ *     <li>{@code DELETE /actuator/jfr/{name}} stops the recording and throws its data away</li>
+ * </ul>
+ * Recording names consist of letters, digits, {@code _} and {@code -}.
+ */
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+    private final FlightRecordings recordings;
+
+    public FlightRecorderEndpoint(FlightRecordings recordings) {
+        this.recordings = recordings;
+    }
+
+    @ReadOperation
+    public List<FlightRecordings.RecordingInfo> recordings() {
+        return recordings.list();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource dump(@Selector String name) {
+        return recordings.dump(name).map(DumpResource::new).orElse(null);
+    }
+
+    // @Nullable makes the duration optional, the actuator of Boot 3.3 has no @OptionalParameter yet
+    @WriteOperation
+    public FlightRecordings.RecordingInfo control(@Selector String name, @Selector String action,
+                                                  @Nullable Duration duration) {
+        if (!FlightRecordings.isValidName(name)) {
+            throw new InvalidEndpointRequestException("Invalid recording name " + name,
+                    "The name may only contain letters, digits, _ and -");
+        }
+        boolean changed = switch (action) {
+            case "start" -> recordings.start(name, duration);
+            case "stop" -> recordings.stop(name);
+            default -> throw new InvalidEndpointRequestException("Unknown action " + action,
+                    "The action must be start or stop");
+        };
+        if (!changed) {
+            throw new InvalidEndpointRequestException("Recording " + name + " can't " + action,
+                    "The recording is running already or isn't running");
+        }
+        return recordings.list().stream()
+                .filter(recording -> recording.name().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @DeleteOperation
+    public boolean discard(@Selector String name) {
+        return recordings.discard(name);
+    }
+
+    // the message converter closes the stream after writing the response, then the dump is deleted
+    private static final class DumpResource extends FileSystemResource {
+
+        DumpResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            Path file = getFile().toPath();
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.notemanager.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records every request as a {@link RequestEvent} and provides the endpoint to the events raised while
+ * handling it. The endpoint is the mapped pattern ({@code GET /api/v1/notes/{id}}) once the handler is known,
+ * nested events that happen before that, authentication for instance, see the request URI.
+ */
+public class FlightRecorderFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestEvent event = new RequestEvent();
+        DiagnosticContext.begin(request.getMethod() + " " + request.getRequestURI());
+        event.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = endpoint(request);
+                event.user = DiagnosticContext.user();
+                event.status = response.getStatus();
+                event.commit();
+            }
+            DiagnosticContext.end();
+        }
+    }
+
+    static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.notemanager.diagnostics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * The flight recordings of the application: an optional continuous one started with the application and
+ * on-demand ones started through the {@code jfr} actuator endpoint. All use the JDK {@code default} settings,
+ * which keep the overhead around one percent, with the thresholds of the application events applied.
+ */
+public class FlightRecordings {
+    public static final String CONTINUOUS = "continuous";
+    // names become part of the dump file name, nothing that could leave the dump directory
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]+");
+    private static final Logger log = LoggerFactory.getLogger(FlightRecordings.class);
+    private static final List<String> OPERATION_EVENTS =
+            List.of("notes.JwtVerification", "notes.PasswordCheck", "notes.UserCacheLookup", "notes.RepositoryCall");
+
+    private final Map<String, Recording> recordings = new ConcurrentHashMap<>();
+    private final Map<String, String> settings;
+    private final boolean continuous;
+    private final Duration maxAge;
+    private final long maxSize;
+    private final Path dumpDirectory;
+
+    public FlightRecordings(boolean continuous, Duration maxAge, long maxSize, Path dumpDirectory,
+                            Duration requestThreshold, Duration operationThreshold) {
+        this.continuous = continuous;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.dumpDirectory = dumpDirectory;
+        this.settings = settings(requestThreshold, operationThreshold);
+    }
+
+    public void start() {
+        if (continuous) {
+            start(CONTINUOUS, null);
+        }
+    }
+
+    public synchronized void stop() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+
+    public static boolean isValidName(String name) {
+        return name != null && NAME.matcher(name).matches();
+    }
+
+    /**
+     * @param name letters, digits, {@code _} and {@code -}
+     * @param duration stops the recording after that long, {@code null} to keep it running
+     * @return {@code false} if a recording of that name is running already
+     */
+    public synchronized boolean start(String name, Duration duration) {
+        if (!isValidName(name)) {
+            throw new IllegalArgumentException("Invalid recording name " + name);
+        }
+        Recording previous = recordings.get(name);
+        if (previous != null && previous.getState() == RecordingState.RUNNING) {
+            return false;
+        }
+        if (previous != null) {
+            previous.close();
+        }
+        Recording recording = new Recording(settings);
+        recording.setName(name);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize);
+        recording.setDuration(duration);
+        recordings.put(name, recording);
+        recording.start();
+        log.info("Started flight recording {}", name);
+        return true;
+    }
+
+    /**
+     * Stops the recording, the data is kept for a dump until it is discarded.
+     */
+    public boolean stop(String name) {
+        Recording recording = recordings.get(name);
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return false;
+        }
+        recording.stop();
+        log.info("Stopped flight recording {}", name);
+        return true;
+    }
+
+    public synchronized boolean discard(String name) {
+        Recording recording = recordings.remove(name);
+        if (recording == null) {
+            return false;
+        }
+        recording.close();
+        return true;
+    }
+
+    /**
+     * Writes what the recording holds so far to a new file in the dump directory, the recording goes on.
+     * The caller deletes the file once it has been read.
+     */
+    public Optional<Path> dump(String name) {
+        Recording recording = recordings.get(name);
+        if (recording == null) {
+            return Optional.empty();
+        }
+        try {
+            Files.createDirectories(dumpDirectory);
+            Path file = dumpDirectory.resolve(name + "-" + Instant.now().toEpochMilli() + ".jfr");
+            recording.dump(file);
+            log.info("Dumped flight recording {} to {}", name, file);
+            return Optional.of(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<RecordingInfo> list() {
+        return recordings.values().stream()
+                .map(recording -> new RecordingInfo(recording.getName(), recording.getState().name(),
+                        recording.getStartTime(), recording.getDuration(), recording.getSize()))
+                .toList();
+    }
+
+    public record RecordingInfo(String name, String state, Instant startTime, Duration duration, long size) {
+    }
+
+    private static Map<String, String> settings(Duration requestThreshold, Duration operationThreshold) {
+        Map<String, String> settings;
+        try {
+            settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("The JDK default flight recorder settings can't be read", e);
+        }
+        settings.put("notes.Request#enabled", "true");
+        settings.put("notes.Request#threshold", requestThreshold.toMillis() + " ms");
+        for (String event : OPERATION_EVENTS) {
+            settings.put(event + "#enabled", "true");
+            settings.put(event + "#threshold", operationThreshold.toMillis() + " ms");
+        }
+        return settings;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.notemanager.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("notes.JwtVerification")
+@Label("JWT Verification")
+@Description("Parsing and signature check of a bearer token")
+@Category({"Notes", "Security"})
+@StackTrace(false)
+@Threshold("5 ms")
+public class JwtVerificationEvent extends Event {
+    @Label("Endpoint")
+    public String endpoint;
+    @Label("User")
+    public String user;
+    @Label("Valid")
+    public boolean valid;
+
+    /**
+     * Fills in endpoint and user and commits, if the event lasted long enough to be recorded.
+     */
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            endpoint = DiagnosticContext.endpoint();
+            if (user == null) {
+                user = DiagnosticContext.user();
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.notemanager.diagnostics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Appends every exported batch to a file as one line of OTLP JSON ({@code ExportTraceServiceRequest}),
+ * the format of the OpenTelemetry file exporter, so traces can be inspected or replayed into a collector
+ * without a tracing backend.
+ */
+public class OtlpJsonFileSpanExporter implements SpanExporter {
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+    private boolean shutdown;
+
+    public OtlpJsonFileSpanExporter(Path file, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't open the span file " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        if (shutdown) {
+            return CompletableResultCode.ofFailure();
+        }
+        try {
+            writer.write(objectMapper.writeValueAsString(request(spans)));
+            writer.newLine();
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (!shutdown) {
+            shutdown = true;
+            try {
+                writer.close();
+            } catch (IOException e) {
+                return CompletableResultCode.ofFailure();
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private ObjectNode request(Collection<SpanData> spans) {
+        ObjectNode request = objectMapper.createObjectNode();
+        ArrayNode resourceSpans = request.putArray("resourceSpans");
+        Map<Resource, Map<InstrumentationScopeInfo, List<SpanData>>> byResource = spans.stream()
+                .collect(Collectors.groupingBy(SpanData::getResource,
+                        Collectors.groupingBy(SpanData::getInstrumentationScopeInfo)));
+        byResource.forEach((resource, byScope) -> {
+            ObjectNode resourceNode = resourceSpans.addObject();
+            resourceNode.putObject("resource").set("attributes", attributes(resource.getAttributes()));
+            ArrayNode scopeSpans = resourceNode.putArray("scopeSpans");
+            byScope.forEach((scope, scopeSpanData) -> {
+                ObjectNode scopeNode = scopeSpans.addObject();
+                ObjectNode scopeInfo = scopeNode.putObject("scope").put("name", scope.getName());
+                if (scope.getVersion() != null) {
+                    scopeInfo.put("version", scope.getVersion());
+                }
+                ArrayNode spanNodes = scopeNode.putArray("spans");
+                scopeSpanData.forEach(span -> spanNodes.add(span(span)));
+            });
+        });
+        return request;
+    }
+
+    private ObjectNode span(SpanData span) {
+        ObjectNode node = objectMapper.createObjectNode()
+                .put("traceId", span.getTraceId())
+                .put("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            node.put("parentSpanId", span.getParentSpanId());
+        }
+        node.put("name", span.getName())
+                // OTLP counts the kinds from SPAN_KIND_UNSPECIFIED = 0
+                .put("kind", span.getKind().ordinal() + 1)
+                .put("startTimeUnixNano", Long.toString(span.getStartEpochNanos()))
+                .put("endTimeUnixNano", Long.toString(span.getEndEpochNanos()))
+                .set("attributes", attributes(span.getAttributes()));
+        ArrayNode events = node.putArray("events");
+        for (EventData event : span.getEvents()) {
+            events.addObject()
+                    .put("timeUnixNano", Long.toString(event.getEpochNanos()))
+                    .put("name", event.getName())
+                    .set("attributes", attributes(event.getAttributes()));
+        }
+        ObjectNode status = node.putObject("status").put("code", span.getStatus().getStatusCode().ordinal());
+        if (!span.getStatus().getDescription().isEmpty()) {
+            status.put("message", span.getStatus().getDescription());
+        }
+        return node;
+    }
+
+    private ArrayNode attributes(Attributes attributes) {
+        ArrayNode array = objectMapper.createArrayNode();
+        attributes.forEach((key, value) -> {
+            ObjectNode valueNode = array.addObject().put("key", key.getKey()).putObject("value");
+            switch (key.getType()) {
+                case BOOLEAN -> valueNode.put("boolValue", (Boolean) value);
+                // int64 is a string in OTLP JSON
+                case LONG -> valueNode.put("intValue", value.toString());
+                case DOUBLE -> valueNode.put("doubleValue", (Double) value);
+                case STRING -> valueNode.put("stringValue", (String) value);
+                default -> {
+                    ArrayNode values = valueNode.putObject("arrayValue").putArray("values");
+                    ((List<?>) value).forEach(element -> values.addObject().put("stringValue", String.valueOf(element)));
+                }
+            }
+        });
+        return array;
+    }
+}
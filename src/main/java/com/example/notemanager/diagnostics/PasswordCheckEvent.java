@@ -0,0 +1,38 @@
+package com.example.notemanager.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("notes.PasswordCheck")
+@Label("Password Check")
+@Description("BCrypt comparison of a login password")
+@Category({"Notes", "Security"})
+@StackTrace(false)
+@Threshold("20 ms")
+public class PasswordCheckEvent extends Event {
+    @Label("Endpoint")
+    public String endpoint;
+    @Label("User")
+    public String user;
+    @Label("Matches")
+    public boolean matches;
+
+    /**
+     * Fills in endpoint and user and commits, if the event lasted long enough to be recorded.
+     */
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            endpoint = DiagnosticContext.endpoint();
+            if (user == null) {
+                user = DiagnosticContext.user();
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.notemanager.diagnostics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statements executed on behalf of one request and the time the database took for them. Written by every
+ * thread the request's queries run on, see {@link QueryCounter}.
+ */
+public final class QueryCount {
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder millis = new LongAdder();
+
+    void add(long elapsedMillis) {
+        statements.increment();
+        millis.add(elapsedMillis);
+    }
+
+    public long statements() {
+        return statements.sum();
+    }
+
+    public Duration time() {
+        return Duration.ofMillis(millis.sum());
+    }
+}
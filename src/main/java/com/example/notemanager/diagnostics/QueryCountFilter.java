@@ -0,0 +1,55 @@
+package com.example.notemanager.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Counts the statements of every request, authentication included, and logs requests above either
+ * threshold. With {@code exposeHeaders} the count and database time are returned as response headers,
+ * which tests use to catch N+1 queries; the body is buffered for that, so it is not meant for production.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+    public static final String COUNT_HEADER = "X-Query-Count";
+    public static final String TIME_HEADER = "X-Query-Time-Ms";
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final long maxStatements;
+    private final Duration maxTime;
+    private final boolean exposeHeaders;
+
+    public QueryCountFilter(long maxStatements, Duration maxTime, boolean exposeHeaders) {
+        this.maxStatements = maxStatements;
+        this.maxTime = maxTime;
+        this.exposeHeaders = exposeHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryCount count = new QueryCount();
+        ContentCachingResponseWrapper buffered = exposeHeaders ? new ContentCachingResponseWrapper(response) : null;
+        try (QueryCounter.Scope ignored = QueryCounter.open(count)) {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            if (count.statements() > maxStatements || count.time().compareTo(maxTime) > 0) {
+                log.warn("{} {} issued {} statements taking {} ms", request.getMethod(), request.getRequestURI(),
+                        count.statements(), count.time().toMillis());
+            }
+            if (buffered != null) {
+                buffered.setHeader(COUNT_HEADER, Long.toString(count.statements()));
+                buffered.setHeader(TIME_HEADER, Long.toString(count.time().toMillis()));
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.notemanager.diagnostics;
+
+/**
+ * Attributes executed statements to the {@link QueryCount} of the current thread. Work handed to another
+ * thread keeps counting into the same instance if it opens a scope with {@link #current()} of the caller.
+ */
+public final class QueryCounter {
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static QueryCount current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Counts into {@code count} until the scope is closed; a {@code null} count leaves the thread as it is.
+     */
+    public static Scope open(QueryCount count) {
+        QueryCount previous = CURRENT.get();
+        if (count != null) {
+            CURRENT.set(count);
+        }
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    static void record(long elapsedMillis) {
+        QueryCount count = CURRENT.get();
+        if (count != null) {
+            count.add(elapsedMillis);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
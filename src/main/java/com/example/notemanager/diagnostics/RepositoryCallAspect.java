@@ -0,0 +1,32 @@
+package com.example.notemanager.diagnostics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+
+/**
+ * Records the calls of the Spring Data repositories as {@link RepositoryCallEvent}s, named after the
+ * application interface rather than the Spring Data one that declares e.g. {@code findById}.
+ */
+@Aspect
+public class RepositoryCallAspect {
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+            event.repository = interfaces.length > 0 ? interfaces[0].getSimpleName()
+                    : joinPoint.getSignature().getDeclaringType().getSimpleName();
+            event.method = joinPoint.getSignature().getName();
+            event.finish();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.notemanager.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("notes.RepositoryCall")
+@Label("Repository Call")
+@Description("A call of a Spring Data repository method, queries and mapping included")
+@Category({"Notes", "Database"})
+@StackTrace(false)
+@Threshold("10 ms")
+public class RepositoryCallEvent extends Event {
+    @Label("Endpoint")
+    public String endpoint;
+    @Label("User")
+    public String user;
+    @Label("Repository")
+    public String repository;
+    @Label("Method")
+    public String method;
+
+    /**
+     * Fills in endpoint and user and commits, if the event lasted long enough to be recorded.
+     */
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            endpoint = DiagnosticContext.endpoint();
+            if (user == null) {
+                user = DiagnosticContext.user();
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.notemanager.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("notes.Request")
+@Label("HTTP Request")
+@Description("Handling of an HTTP request, filters and authentication included")
+@Category({"Notes", "Web"})
+@StackTrace(false)
+@Threshold("50 ms")
+public class RequestEvent extends Event {
+    @Label("Endpoint")
+    public String endpoint;
+    @Label("User")
+    public String user;
+    @Label("Status")
+    public int status;
+}
@@ -0,0 +1,106 @@
+package com.example.notemanager.diagnostics;
+
+import com.sun.management.ThreadMXBean;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the CPU time and the heap allocations of a sample of the requests on the request thread and
+ * publishes them per endpoint as {@code notes.request.cpu} and {@code notes.request.allocated}; requests
+ * above either threshold are logged. Work done for the request on other threads is not included.
+ * With {@code exposeHeaders} the figures are returned as response headers for allocation budget tests,
+ * the body is buffered for that.
+ */
+public class ResourceUsageFilter extends OncePerRequestFilter {
+    public static final String CPU_TIME_HEADER = "X-Cpu-Time-Ms";
+    public static final String ALLOCATED_HEADER = "X-Allocated-Bytes";
+    private static final Logger log = LoggerFactory.getLogger(ResourceUsageFilter.class);
+
+    private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final MeterRegistry meterRegistry;
+    private final double sampleRate;
+    private final Duration maxCpuTime;
+    private final long maxAllocatedBytes;
+    private final boolean exposeHeaders;
+
+    public ResourceUsageFilter(MeterRegistry meterRegistry, double sampleRate, Duration maxCpuTime,
+                               long maxAllocatedBytes, boolean exposeHeaders) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+        this.maxCpuTime = maxCpuTime;
+        this.maxAllocatedBytes = maxAllocatedBytes;
+        this.exposeHeaders = exposeHeaders;
+        if (threads.isThreadCpuTimeSupported()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+        if (threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long cpuTimeBefore = threads.getCurrentThreadCpuTime();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        // -1 where the JVM can't measure, e.g. on virtual threads
+        if (cpuTimeBefore < 0 || allocatedBefore < 0
+                || sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper buffered = exposeHeaders ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            long cpuTime = threads.getCurrentThreadCpuTime() - cpuTimeBefore;
+            long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            record(request, cpuTime, allocated);
+            if (buffered != null) {
+                buffered.setHeader(CPU_TIME_HEADER, Long.toString(TimeUnit.NANOSECONDS.toMillis(cpuTime)));
+                buffered.setHeader(ALLOCATED_HEADER, Long.toString(allocated));
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, long cpuTime, long allocated) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Timer.builder("notes.request.cpu")
+                .description("CPU time of the request thread")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(cpuTime, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("notes.request.allocated")
+                .description("Heap allocated by the request thread")
+                .baseUnit("bytes")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(allocated);
+        if (cpuTime > maxCpuTime.toNanos() || allocated > maxAllocatedBytes) {
+            log.warn("{} {} used {} ms CPU time and allocated {} KB", request.getMethod(), request.getRequestURI(),
+                    TimeUnit.NANOSECONDS.toMillis(cpuTime), allocated / 1024);
+        }
+    }
+}
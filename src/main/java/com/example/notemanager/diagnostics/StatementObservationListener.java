@@ -0,0 +1,48 @@
+package com.example.notemanager.diagnostics;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Observes every JDBC execution as {@code notes.jdbc}, a child of whatever is observed on the calling thread,
+ * e.g. the {@code NoteService} method. The SQL goes to the span only, the timer is tagged by statement type.
+ */
+public class StatementObservationListener implements QueryExecutionListener {
+    private static final String OBSERVATION = StatementObservationListener.class.getName();
+    private static final int MAX_SQL_LENGTH = 1000;
+
+    private final ObservationRegistry observationRegistry;
+
+    public StatementObservationListener(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        Observation observation = Observation.createNotStarted("notes.jdbc", observationRegistry)
+                .contextualName("jdbc " + (execInfo.isBatch() ? "batch" : "query"))
+                .lowCardinalityKeyValue("statement.type", execInfo.getStatementType().name().toLowerCase())
+                .highCardinalityKeyValue("db.statement",
+                        sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) : sql)
+                .start();
+        execInfo.addCustomValue(OBSERVATION, observation);
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Observation observation = execInfo.getCustomValue(OBSERVATION, Observation.class);
+        if (observation == null) {
+            return;
+        }
+        if (execInfo.getThrowable() != null) {
+            observation.error(execInfo.getThrowable());
+        }
+        observation.stop();
+    }
+}
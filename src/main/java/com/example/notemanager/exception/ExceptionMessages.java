@@ -6,7 +6,8 @@ public enum ExceptionMessages {
     INVALID_NOTE_DATA("Invalid note data provided"),
     INVALID_NOTE_ID("Invalid note id provided"),
     ENTITY_NOT_FOUND("Such entity wasn't found"),
-    USER_NOT_FOUND("Such user wasn't found"),;
+    USER_NOT_FOUND("Such user wasn't found"),
+    REVISION_NOT_FOUND("Revision not found"),;
 
     private String message;
 
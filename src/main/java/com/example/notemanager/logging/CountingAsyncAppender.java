@@ -0,0 +1,44 @@
+package com.example.notemanager.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} that counts the events it drops instead of blocking the logging thread:
+ * TRACE to INFO events once the queue is filled beyond the discarding threshold, any event when the
+ * queue is full and {@code neverBlock} is set. The counts are taken from the queue capacity just before
+ * the event is handed on, so they are exact only up to concurrent appends.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+    private static final LongAdder DISCARDED = new LongAdder();
+    private static final LongAdder DROPPED = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isStarted()) {
+            int remaining = getRemainingCapacity();
+            if (remaining < getDiscardingThreshold() && isDiscardable(event)) {
+                DISCARDED.increment();
+            } else if (remaining == 0 && isNeverBlock()) {
+                DROPPED.increment();
+            }
+        }
+        super.append(event);
+    }
+
+    /**
+     * Events below WARN left out because the queue was filled beyond the discarding threshold.
+     */
+    public static long discarded() {
+        return DISCARDED.sum();
+    }
+
+    /**
+     * Events lost because the queue was full.
+     */
+    public static long dropped() {
+        return DROPPED.sum();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.notemanager.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Logger for messages written on every request: at most {@code permitsPerSecond} messages per second
+ * get through, the rest is counted as suppressed ({@code notes.logging.suppressed}). Disabled levels
+ * cost a level check only, there are no varargs overloads so nothing is allocated for a dropped message.
+ */
+public final class RateLimitedLogger {
+    private static final LongAdder SUPPRESSED = new LongAdder();
+
+    private final Logger delegate;
+    private final int permitsPerSecond;
+    private final LongSupplier nanoClock;
+    private final AtomicLong second = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicInteger permitsUsed = new AtomicInteger();
+
+    public RateLimitedLogger(Logger delegate, int permitsPerSecond, LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.permitsPerSecond = permitsPerSecond;
+        this.nanoClock = nanoClock;
+    }
+
+    public static RateLimitedLogger of(Class<?> type, int permitsPerSecond) {
+        return new RateLimitedLogger(LoggerFactory.getLogger(type), permitsPerSecond, System::nanoTime);
+    }
+
+    /**
+     * Messages suppressed by all rate limited loggers since startup.
+     */
+    public static long suppressed() {
+        return SUPPRESSED.sum();
+    }
+
+    public void info(String format, Object argument) {
+        if (delegate.isInfoEnabled() && permit()) {
+            delegate.info(format, argument);
+        }
+    }
+
+    public void debug(String format, Object argument) {
+        if (delegate.isDebugEnabled() && permit()) {
+            delegate.debug(format, argument);
+        }
+    }
+
+    private boolean permit() {
+        long now = TimeUnit.NANOSECONDS.toSeconds(nanoClock.getAsLong());
+        long current = second.get();
+        if (now != current && second.compareAndSet(current, now)) {
+            permitsUsed.set(0);
+        }
+        if (permitsUsed.incrementAndGet() <= permitsPerSecond) {
+            return true;
+        }
+        SUPPRESSED.increment();
+        return false;
+    }
+}
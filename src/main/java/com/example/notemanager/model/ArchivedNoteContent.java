@@ -0,0 +1,63 @@
+package com.example.notemanager.model;
+
+import com.example.notemanager.model.converter.CompressedContentConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Content of an archived note, always stored compressed. The note itself stays in {@code notes}
+ * with {@code archived} set and its content columns cleared.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "notes_archive")
+public class ArchivedNoteContent implements Persistable<Long> {
+    @Id
+    @Column(name = "note_id")
+    private Long noteId;
+    @Column(name = "content_compressed")
+    @Convert(converter = CompressedContentConverter.class)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String content;
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+    // the id is assigned, without this flag saveAll would select every row before inserting it
+    @Transient
+    @Builder.Default
+    private boolean fresh = true;
+
+    @Override
+    public Long getId() {
+        return noteId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        fresh = false;
+    }
+}
@@ -1,15 +1,22 @@
 package com.example.notemanager.model;
 
+import com.example.notemanager.model.converter.CompressedContentConverter;
+import jakarta.persistence.Basic;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -19,6 +26,11 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.LazyGroup;
+import org.hibernate.annotations.PartitionKey;
 
 @Data
 @Builder
@@ -29,7 +41,12 @@ import lombok.ToString;
 @NoArgsConstructor
 @Entity
 @Table(name = "notes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "notes")
+@EntityListeners(NoteContentListener.class)
 public class Note {
+    public static final int MAX_PREVIEW_LENGTH = 1000;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_seq")
     @SequenceGenerator(name = "note_seq", sequenceName = "seq_notes_id", allocationSize = 1)
@@ -38,16 +55,102 @@ public class Note {
     @NotNull(message = "Title must not be null")
     @NotEmpty(message = "Title must not be empty")
     private String title;
+    // both content columns are loaded together on first access, lists only need the preview
+    // plain content, null once the content has been moved to compressedContent
     @Column(name = "content")
-    @NotNull(message = "Content must not be null")
-    @NotEmpty(message = "Content must not be empty")
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("content")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String content;
+    @Column(name = "content_compressed")
+    @Convert(converter = CompressedContentConverter.class)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("content")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String compressedContent;
+    @Column(name = "preview", length = MAX_PREVIEW_LENGTH)
+    private String preview;
+    @Column(name = "content_length")
+    private Integer contentLength;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
+    // notes is partitioned by user_id, with the key in their WHERE clause updates and deletes touch one partition
+    @PartitionKey
+    @Column(name = "user_id", insertable = false, updatable = false)
+    private Long userId;
+    @Version
+    @Column(name = "version")
+    private Long version;
+    // the content lives in notes_archive, see ArchivedNoteContent
+    @Column(name = "archived")
+    private boolean archived;
+
+    @PrePersist
+    void assignPartitionKey() {
+        userId = user != null ? user.getId() : null;
+    }
+
+    /**
+     * @return a detached copy of the note, with the content only if it was already loaded
+     */
+    public Note copy() {
+        Note copy = Note.builder()
+                .id(id)
+                .title(title)
+                .preview(preview)
+                .contentLength(contentLength)
+                .user(user)
+                .userId(userId)
+                .version(version)
+                .archived(archived)
+                .build();
+        if (Hibernate.isPropertyInitialized(this, "content")) {
+            copy.content = content;
+            copy.compressedContent = compressedContent;
+        }
+        return copy;
+    }
 
     public Note withId(Long id) {
         this.id = id;
         return this;
     }
+
+    @NotNull(message = "Content must not be null")
+    @NotEmpty(message = "Content must not be empty")
+    public String getContent() {
+        return compressedContent != null ? compressedContent : content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+        this.compressedContent = null;
+    }
+
+    public boolean isContentCompressed() {
+        return compressedContent != null;
+    }
+
+    public void updatePreview(int previewLength) {
+        String text = getContent();
+        if (text == null) {
+            return;
+        }
+        int end = Math.min(Math.min(previewLength, MAX_PREVIEW_LENGTH), text.length());
+        if (end > 0 && end < text.length() && Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        preview = text.substring(0, end);
+        contentLength = text.length();
+    }
+
+    public void compressContent() {
+        if (content != null) {
+            compressedContent = content;
+            content = null;
+        }
+    }
 }
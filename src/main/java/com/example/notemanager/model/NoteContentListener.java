@@ -0,0 +1,38 @@
+package com.example.notemanager.model;
+
+import com.example.notemanager.config.ContentCompressionProperties;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the preview of a note in sync with its content and moves the content of long notes
+ * to the compressed column whenever a note is written.
+ */
+@Component
+public class NoteContentListener {
+    private final ContentCompressionProperties properties;
+    private final int previewLength;
+
+    public NoteContentListener(ContentCompressionProperties properties,
+                               @Value("${notes.content.preview-length:200}") int previewLength) {
+        this.properties = properties;
+        this.previewLength = previewLength;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void onWrite(Note note) {
+        // content that was never loaded hasn't been changed either, loading it here would cost a query
+        if (!Hibernate.isPropertyInitialized(note, "content")) {
+            return;
+        }
+        note.updatePreview(previewLength);
+        if (properties.enabled() && !note.isContentCompressed()
+                && note.getContent() != null && note.getContent().length() >= properties.minLength()) {
+            note.compressContent();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.notemanager.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Note attributes that can be requested one by one through the {@code fields} parameter of the API.
+ */
+public enum NoteField {
+    ID("id", "id"),
+    TITLE("title", "title"),
+    CONTENT("content", "content", "compressedContent"),
+    PREVIEW("preview", "preview"),
+    CONTENT_LENGTH("contentLength", "contentLength"),
+    VERSION("version", "version");
+
+    private final String jsonName;
+    private final List<String> attributes;
+
+    NoteField(String jsonName, String... attributes) {
+        this.jsonName = jsonName;
+        this.attributes = List.of(attributes);
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Entity attributes that have to be selected for the field.
+     */
+    public List<String> getAttributes() {
+        return attributes;
+    }
+
+    public static Optional<NoteField> fromJsonName(String jsonName) {
+        return Arrays.stream(values())
+                .filter(field -> field.jsonName.equals(jsonName))
+                .findFirst();
+    }
+}
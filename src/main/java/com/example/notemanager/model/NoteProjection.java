@@ -0,0 +1,38 @@
+package com.example.notemanager.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The requested fields of a note, serialized as a JSON object with exactly these fields.
+ */
+public record NoteProjection(Map<NoteField, Object> values) {
+
+    public NoteProjection {
+        values = values.isEmpty() ? new EnumMap<>(NoteField.class) : new EnumMap<>(values);
+    }
+
+    public Object get(NoteField field) {
+        return values.get(field);
+    }
+
+    /**
+     * @return a copy with only the given fields
+     */
+    public NoteProjection only(Set<NoteField> fields) {
+        Map<NoteField, Object> kept = new EnumMap<>(values);
+        kept.keySet().retainAll(fields);
+        return new NoteProjection(kept);
+    }
+
+    @JsonValue
+    public Map<String, Object> toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        values.forEach((field, value) -> json.put(field.getJsonName(), value));
+        return json;
+    }
+}
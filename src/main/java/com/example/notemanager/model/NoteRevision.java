@@ -0,0 +1,60 @@
+package com.example.notemanager.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * One saved state of a note. {@code data} is either a snapshot of the content or, for a positive
+ * {@code depth}, a delta against the previous revision, see {@link com.example.notemanager.model.converter.RevisionDeltaCodec}.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "note_revisions")
+public class NoteRevision {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_revision_seq")
+    @SequenceGenerator(name = "note_revision_seq", sequenceName = "seq_note_revisions_id", allocationSize = 1)
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "note_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Note note;
+    private int revision;
+    @Column(name = "note_version")
+    private long noteVersion;
+    private String title;
+    private int depth;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private byte[] data;
+    @Column(name = "content_length")
+    private int contentLength;
+    @Column(name = "stored_size")
+    private int storedSize;
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public boolean isSnapshot() {
+        return depth == 0;
+    }
+}
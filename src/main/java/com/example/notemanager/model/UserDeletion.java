@@ -0,0 +1,40 @@
+package com.example.notemanager.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of an account deletion. The row outlives the user, {@code completedAt} is set once the
+ * last note and the user itself are gone.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "user_deletions")
+public class UserDeletion {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    @Column(name = "requested_at")
+    private LocalDateTime requestedAt;
+    @Column(name = "notes_total")
+    private long notesTotal;
+    @Column(name = "notes_purged")
+    private long notesPurged;
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.notemanager.model.converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodes note revisions. A snapshot is the whole text in the {@link CompressedContentConverter}
+ * format, a delta keeps the prefix and suffix the text shares with the previous revision and stores
+ * only what lies between: codec byte, prefix and suffix length in UTF-16 units as varints, then the
+ * replacement as UTF-8. Typical edits touch one place, so a delta is about as small as the edit.
+ */
+public class RevisionDeltaCodec {
+    static final byte DELTA = 2;
+
+    private final CompressedContentConverter snapshots = new CompressedContentConverter();
+
+    public byte[] snapshot(String text) {
+        return snapshots.convertToDatabaseColumn(text);
+    }
+
+    public String readSnapshot(byte[] stored) {
+        return snapshots.convertToEntityAttribute(stored);
+    }
+
+    public byte[] delta(String base, String target) {
+        int limit = Math.min(base.length(), target.length());
+        int prefix = 0;
+        while (prefix < limit && base.charAt(prefix) == target.charAt(prefix)) {
+            prefix++;
+        }
+        // never split a surrogate pair, half of one can't be encoded as UTF-8
+        if (prefix > 0 && Character.isHighSurrogate(target.charAt(prefix - 1))) {
+            prefix--;
+        }
+        int suffix = 0;
+        while (suffix < limit - prefix
+                && base.charAt(base.length() - 1 - suffix) == target.charAt(target.length() - 1 - suffix)) {
+            suffix++;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(target.charAt(target.length() - suffix))) {
+            suffix--;
+        }
+        byte[] replacement = target.substring(prefix, target.length() - suffix).getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream output = new ByteArrayOutputStream(replacement.length + 11);
+        output.write(DELTA);
+        writeVarInt(output, prefix);
+        writeVarInt(output, suffix);
+        output.writeBytes(replacement);
+        return output.toByteArray();
+    }
+
+    public String apply(String base, byte[] delta) {
+        if (delta.length == 0 || delta[0] != DELTA) {
+            throw new IllegalStateException("Not a revision delta: " + (delta.length == 0 ? "<empty>" : delta[0]));
+        }
+        int[] position = {1};
+        int prefix = readVarInt(delta, position);
+        int suffix = readVarInt(delta, position);
+        if (prefix + suffix > base.length()) {
+            throw new IllegalStateException("Revision delta doesn't fit a text of " + base.length() + " characters");
+        }
+        String replacement = new String(Arrays.copyOfRange(delta, position[0], delta.length), StandardCharsets.UTF_8);
+        return base.substring(0, prefix) + replacement + base.substring(base.length() - suffix);
+    }
+
+    public boolean isSnapshot(byte[] stored) {
+        return stored.length > 0 && stored[0] == CompressedContentConverter.DEFLATE;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream output, int value) {
+        while ((value & ~0x7F) != 0) {
+            output.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.write(value);
+    }
+
+    private static int readVarInt(byte[] input, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (position[0] >= input.length) {
+                throw new IllegalStateException("Truncated revision delta");
+            }
+            byte b = input[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Corrupt revision delta");
+    }
+}
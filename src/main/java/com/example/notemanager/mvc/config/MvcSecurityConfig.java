@@ -8,17 +8,33 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.security.core.session.SessionRegistryImpl;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.session.HttpSessionEventPublisher;
 
 @Configuration
 @EnableWebSecurity
 public class MvcSecurityConfig {
     private static final Logger log = LoggerFactory.getLogger(MvcSecurityConfig.class);
 
+    // sessions of the login form, expired when their user is deleted
+    @Bean
+    public SessionRegistry sessionRegistry() {
+        return new SessionRegistryImpl();
+    }
+
+    // removes destroyed sessions from the registry
+    @Bean
+    public HttpSessionEventPublisher httpSessionEventPublisher() {
+        return new HttpSessionEventPublisher();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity,
-                                                   @Qualifier("userDetails") UserDetailsService userDetailsService) throws Exception {
+                                                   @Qualifier("userDetails") UserDetailsService userDetailsService,
+                                                   SessionRegistry sessionRegistry) throws Exception {
         return httpSecurity
                 .securityMatcher("/**")
                 .csrf(csrf -> csrf.ignoringRequestMatchers("/api/**"))
@@ -32,6 +48,7 @@ public class MvcSecurityConfig {
                         sessionManagement
                                 .invalidSessionUrl("/login?error=InvalidSession")
                                 .maximumSessions(1)
+                                .sessionRegistry(sessionRegistry)
                                 .expiredUrl("/login?error=SessionExpired")
                 )
                 .httpBasic(AbstractHttpConfigurer::disable)
@@ -1,5 +1,6 @@
 package com.example.notemanager.mvc.controller;
 
+import com.example.notemanager.diagnostics.DiagnosticContext;
 import com.example.notemanager.exception.EntityException;
 import com.example.notemanager.model.User;
 import com.example.notemanager.service.UserService;
@@ -11,6 +12,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,11 +25,14 @@ public class AuthMvcController {
 
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
+    private final SessionRegistry sessionRegistry;
 
     public AuthMvcController(UserService userService,
-                             @Qualifier("passEncoder") PasswordEncoder passwordEncoder) {
+                             @Qualifier("passEncoder") PasswordEncoder passwordEncoder,
+                             SessionRegistry sessionRegistry) {
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
+        this.sessionRegistry = sessionRegistry;
     }
 
     @GetMapping("/login")
@@ -41,6 +46,7 @@ public class AuthMvcController {
                         HttpServletRequest request) {
         try {
             log.info("Attempting to authenticate user {}", username);
+            DiagnosticContext.user(username);
 
             User user = userService.findByUserName(username)
                     .orElseThrow(() -> new EntityException("User not found"));
@@ -50,6 +56,11 @@ public class AuthMvcController {
                 return "redirect:/login?error=LockedOut";
             }
 
+            if (!user.isEnabled()) {
+                log.warn("User {} is deleted", username);
+                return "redirect:/login?error=InvalidCredentials";
+            }
+
             if (!passwordEncoder.matches(password, user.getPassword())) {
                 log.warn("Invalid credentials for user {}", username);
                 userService.recordFailedAttempt(user.getId());
@@ -103,5 +114,7 @@ public class AuthMvcController {
 
         HttpSession session = request.getSession(true);
         session.setAttribute("SPRING_SECURITY_CONTEXT", SecurityContextHolder.getContext());
+        // the login doesn't go through an authentication filter, so the session is registered here
+        sessionRegistry.registerNewSession(session.getId(), user.getUsername());
     }
 }
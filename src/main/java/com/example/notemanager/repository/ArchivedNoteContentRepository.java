@@ -0,0 +1,7 @@
+package com.example.notemanager.repository;
+
+import com.example.notemanager.model.ArchivedNoteContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ArchivedNoteContentRepository extends JpaRepository<ArchivedNoteContent, Long> {
+}
@@ -2,25 +2,146 @@ package com.example.notemanager.repository;
 
 import com.example.notemanager.model.Note;
 import com.example.notemanager.model.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface NoteRepository extends JpaRepository<Note, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
+public interface NoteRepository extends JpaRepository<Note, Long>, NoteRepositoryCustom {
+    // compressed content can't be scanned in SQL, the notes whose compressed content matches are looked up
+    // by findCompressedContentMatches and passed in as compressedMatches
+    String KEYWORD_FILTER = "n.user = :user AND " +
+            "(LOWER(n.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(n.content) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "n.id IN :compressedMatches)";
+    // the content columns are lazy, lists asking for the full body select them explicitly;
+    // the archive is only looked up for archived notes
+    String WITH_CONTENT = "new com.example.notemanager.repository.NoteWithContent(" +
+            "n.id, n.title, n.content, n.compressedContent, " +
+            "CASE WHEN n.archived = true THEN " +
+            "(SELECT a.content FROM ArchivedNoteContent a WHERE a.noteId = n.id) END, " +
+            "n.preview, n.contentLength)";
+
     @Query("SELECT n FROM Note n JOIN FETCH n.user WHERE n.user = :user")
     Page<Note> findByUser(User user, Pageable pageable);
 
+    // page content only, the total is fetched separately by countByUser
+    @Query("SELECT n FROM Note n JOIN FETCH n.user WHERE n.user = :user")
+    List<Note> findContentByUser(@Param("user") User user, Pageable pageable);
+
+    long countByUser(User user);
+
+    @Query(value = "SELECT " + WITH_CONTENT + " FROM Note n WHERE n.user = :user",
+            countQuery = "SELECT COUNT(n) FROM Note n WHERE n.user = :user")
+    Page<NoteWithContent> findWithContentByUser(@Param("user") User user, Pageable pageable);
+
+    // page content only, the total is fetched separately by countByUser
+    @Query("SELECT " + WITH_CONTENT + " FROM Note n WHERE n.user = :user")
+    List<NoteWithContent> findContentWithBodyByUser(@Param("user") User user, Pageable pageable);
+
+    // served from the second-level cache when enabled, ignored otherwise
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "note-lookups")})
     @Query("SELECT n FROM Note n JOIN FETCH n.user WHERE n.id = :id AND n.user = :user")
     Optional<Note> findByIdAndUser(@Param("id") Long id, @Param("user") User user);
 
-    @Query("SELECT n FROM Note n WHERE n.user = :user AND " +
-            "(LOWER(n.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(n.content) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    boolean existsByIdAndUser(Long id, User user);
+
+    @Query("SELECT n FROM Note n WHERE " + KEYWORD_FILTER)
     Page<Note> findByUserAndKeyword(@Param("user") User user,
                                     @Param("keyword") String keyword,
+                                    @Param("compressedMatches") Collection<Long> compressedMatches,
                                     Pageable pageable);
+
+    // page content only, the total is fetched separately by countByUserAndKeyword
+    @Query("SELECT n FROM Note n WHERE " + KEYWORD_FILTER)
+    List<Note> findContentByUserAndKeyword(@Param("user") User user,
+                                           @Param("keyword") String keyword,
+                                           @Param("compressedMatches") Collection<Long> compressedMatches,
+                                           Pageable pageable);
+
+    @Query("SELECT COUNT(n) FROM Note n WHERE " + KEYWORD_FILTER)
+    long countByUserAndKeyword(@Param("user") User user,
+                               @Param("keyword") String keyword,
+                               @Param("compressedMatches") Collection<Long> compressedMatches);
+
+    @Query(value = "SELECT " + WITH_CONTENT + " FROM Note n WHERE " + KEYWORD_FILTER,
+            countQuery = "SELECT COUNT(n) FROM Note n WHERE " + KEYWORD_FILTER)
+    Page<NoteWithContent> findWithContentByUserAndKeyword(@Param("user") User user,
+                                                          @Param("keyword") String keyword,
+                                                          @Param("compressedMatches") Collection<Long> compressedMatches,
+                                                          Pageable pageable);
+
+    // page content only, the total is fetched separately by countByUserAndKeyword
+    @Query("SELECT " + WITH_CONTENT + " FROM Note n WHERE " + KEYWORD_FILTER)
+    List<NoteWithContent> findContentWithBodyByUserAndKeyword(@Param("user") User user,
+                                                              @Param("keyword") String keyword,
+                                                              @Param("compressedMatches") Collection<Long> compressedMatches,
+                                                              Pageable pageable);
+
+    @Query("SELECT n FROM Note n WHERE n.id IN :ids AND n.user = :user")
+    List<Note> findAllByIdInAndUser(@Param("ids") Collection<Long> ids, @Param("user") User user);
+
+    @Query("SELECT " + WITH_CONTENT + " FROM Note n WHERE n.id IN :ids AND n.user = :user")
+    List<NoteWithContent> findWithContentByIdInAndUser(@Param("ids") Collection<Long> ids, @Param("user") User user);
+
+    @Modifying
+    @Query("DELETE FROM Note n WHERE n.id IN :ids AND n.user = :user")
+    int deleteByIdInAndUser(@Param("ids") Collection<Long> ids, @Param("user") User user);
+
+    @Query("SELECT n.id FROM Note n WHERE n.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Note n WHERE n.id IN :ids AND n.user.id = :userId")
+    int deleteByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // compressed content can't be appended to in SQL, such notes don't match and are left to the caller
+    @Modifying
+    @Query("UPDATE Note n SET n.content = CONCAT(n.content, :text), " +
+            "n.preview = CASE WHEN COALESCE(n.contentLength, 0) < :previewLength " +
+            "THEN LEFT(CONCAT(n.content, :text), :previewLength) ELSE n.preview END, " +
+            "n.contentLength = COALESCE(n.contentLength, LENGTH(n.content)) + :textLength, " +
+            "n.version = n.version + 1 " +
+            "WHERE n.id = :id AND n.user = :user AND n.content IS NOT NULL")
+    int appendContent(@Param("id") Long id,
+                      @Param("user") User user,
+                      @Param("text") String text,
+                      @Param("textLength") int textLength,
+                      @Param("previewLength") int previewLength);
+
+    @Query("SELECT n FROM Note n WHERE n.content IS NOT NULL AND LENGTH(n.content) >= :minLength ORDER BY n.id")
+    List<Note> findCompressionCandidates(@Param("minLength") int minLength, Pageable pageable);
+
+    // locks the rows so a concurrent update waits until they are archived
+    @Query(value = "SELECT id FROM notes WHERE NOT archived AND last_accessed_at < :cutoff " +
+            "ORDER BY last_accessed_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockArchiveCandidates(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Query("SELECT " + WITH_CONTENT + " FROM Note n WHERE n.id IN :ids")
+    List<NoteWithContent> findWithContentByIdIn(@Param("ids") Collection<Long> ids);
+
+    // bumps the version so writers that loaded the note before it was archived fail instead of
+    // writing their content back next to the archived copy
+    @Modifying
+    @Query("UPDATE Note n SET n.archived = true, n.content = NULL, n.compressedContent = NULL, " +
+            "n.version = n.version + 1 WHERE n.id IN :ids")
+    int markArchived(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT COALESCE(SUM(octet_length(content_compressed)), 0) FROM notes WHERE id IN (:ids)",
+            nativeQuery = true)
+    long sumCompressedContentBytes(@Param("ids") List<Long> ids);
 }
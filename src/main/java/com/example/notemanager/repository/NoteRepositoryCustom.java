@@ -0,0 +1,34 @@
+package com.example.notemanager.repository;
+
+import com.example.notemanager.model.NoteField;
+import com.example.notemanager.model.NoteProjection;
+import com.example.notemanager.model.User;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Queries selecting only the columns behind the requested fields.
+ */
+public interface NoteRepositoryCustom {
+
+    /**
+     * @param keyword           same filter as {@link NoteRepository#KEYWORD_FILTER}, all notes of the user if
+     *                          {@code null}
+     * @param compressedMatches notes that match by their compressed content, see
+     *                          {@link #findCompressedContentMatches}
+     */
+    List<NoteProjection> findFields(User user, String keyword, Collection<Long> compressedMatches,
+                                    Set<NoteField> fields, Pageable pageable);
+
+    Optional<NoteProjection> findFieldsByIdAndUser(Long id, User user, Set<NoteField> fields);
+
+    /**
+     * Ids of the user's notes whose compressed content contains the keyword, ignoring case. Compressed
+     * content can't be scanned in SQL, every compressed note of the user is read and inflated instead.
+     */
+    Set<Long> findCompressedContentMatches(User user, String keyword);
+}
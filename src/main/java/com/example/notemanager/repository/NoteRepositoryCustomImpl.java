@@ -0,0 +1,138 @@
+package com.example.notemanager.repository;
+
+import com.example.notemanager.model.ArchivedNoteContent;
+import com.example.notemanager.model.Note;
+import com.example.notemanager.model.NoteField;
+import com.example.notemanager.model.NoteProjection;
+import com.example.notemanager.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public class NoteRepositoryCustomImpl implements NoteRepositoryCustom {
+    private static final String ARCHIVED_CONTENT = "archivedContent";
+    private static final int COMPRESSED_CONTENT_FETCH_SIZE = 50;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<NoteProjection> findFields(User user, String keyword, Collection<Long> compressedMatches,
+                                           Set<NoteField> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Note> note = query.from(Note.class);
+        Predicate filter = cb.equal(note.get("user"), user);
+        ParameterExpression<String> keywordParameter = cb.parameter(String.class, "keyword");
+        if (keyword != null) {
+            Expression<String> pattern = cb.lower(cb.concat(cb.concat("%", keywordParameter), "%"));
+            filter = cb.and(filter, cb.or(
+                    cb.like(cb.lower(note.get("title")), pattern),
+                    cb.like(cb.lower(note.get("content")), pattern),
+                    note.get("id").in(compressedMatches)));
+        }
+        query.multiselect(selections(query, note, fields)).where(filter);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), note, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (keyword != null) {
+            typedQuery.setParameter(keywordParameter, keyword);
+        }
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList().stream()
+                .map(tuple -> toProjection(tuple, fields))
+                .toList();
+    }
+
+    @Override
+    public Optional<NoteProjection> findFieldsByIdAndUser(Long id, User user, Set<NoteField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Note> note = query.from(Note.class);
+        query.multiselect(selections(query, note, fields))
+                .where(cb.equal(note.get("id"), id), cb.equal(note.get("user"), user));
+        return entityManager.createQuery(query).getResultList().stream()
+                .findFirst()
+                .map(tuple -> toProjection(tuple, fields));
+    }
+
+    @Override
+    public Set<Long> findCompressedContentMatches(User user, String keyword) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Note> note = query.from(Note.class);
+        query.multiselect(note.get("id"), note.get("compressedContent"))
+                .where(cb.equal(note.get("user"), user), cb.isNotNull(note.get("compressedContent")));
+        String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+        try (Stream<Tuple> rows = entityManager.createQuery(query)
+                .setHint(HINT_FETCH_SIZE, COMPRESSED_CONTENT_FETCH_SIZE)
+                .getResultStream()) {
+            return rows.filter(row -> row.get(1, String.class).toLowerCase(Locale.ROOT).contains(lowerKeyword))
+                    .map(row -> row.get(0, Long.class))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private List<Selection<?>> selections(CriteriaQuery<Tuple> query, Root<Note> note, Set<NoteField> fields) {
+        List<Selection<?>> selections = new ArrayList<>();
+        for (NoteField field : fields) {
+            for (String attribute : field.getAttributes()) {
+                selections.add(note.get(attribute).alias(attribute));
+            }
+        }
+        if (fields.contains(NoteField.CONTENT)) {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            Subquery<String> archived = query.subquery(String.class);
+            Root<ArchivedNoteContent> archive = archived.from(ArchivedNoteContent.class);
+            archived.select(archive.get("content")).where(cb.equal(archive.get("noteId"), note.get("id")));
+            selections.add(cb.<String>selectCase()
+                    .when(cb.isTrue(note.<Boolean>get("archived")), archived)
+                    .alias(ARCHIVED_CONTENT));
+        }
+        return selections;
+    }
+
+    private static NoteProjection toProjection(Tuple tuple, Set<NoteField> fields) {
+        Map<NoteField, Object> values = new EnumMap<>(NoteField.class);
+        for (NoteField field : fields) {
+            if (field == NoteField.CONTENT) {
+                Object compressed = tuple.get("compressedContent");
+                Object content = tuple.get("content");
+                values.put(field, compressed != null ? compressed
+                        : content != null ? content : tuple.get(ARCHIVED_CONTENT));
+            } else {
+                values.put(field, tuple.get(field.getAttributes().get(0)));
+            }
+        }
+        return new NoteProjection(values);
+    }
+}
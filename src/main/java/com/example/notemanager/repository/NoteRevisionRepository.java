@@ -0,0 +1,32 @@
+package com.example.notemanager.repository;
+
+import com.example.notemanager.model.Note;
+import com.example.notemanager.model.NoteRevision;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface NoteRevisionRepository extends JpaRepository<NoteRevision, Long> {
+
+    Optional<NoteRevision> findFirstByNoteOrderByRevisionDesc(Note note);
+
+    @Query(value = "SELECT new com.example.notemanager.repository.NoteRevisionSummary(" +
+            "r.revision, r.title, r.depth, r.contentLength, r.storedSize, r.createdAt) " +
+            "FROM NoteRevision r WHERE r.note = :note ORDER BY r.revision DESC",
+            countQuery = "SELECT COUNT(r) FROM NoteRevision r WHERE r.note = :note")
+    Page<NoteRevisionSummary> findSummariesByNote(@Param("note") Note note, Pageable pageable);
+
+    /**
+     * The revision and every delta back to the snapshot it builds on, oldest first.
+     */
+    @Query("SELECT r FROM NoteRevision r WHERE r.note = :note AND r.revision <= :revision AND r.revision >= " +
+            "(SELECT MAX(s.revision) FROM NoteRevision s " +
+            "WHERE s.note = :note AND s.depth = 0 AND s.revision <= :revision) " +
+            "ORDER BY r.revision")
+    List<NoteRevision> findChain(@Param("note") Note note, @Param("revision") int revision);
+}
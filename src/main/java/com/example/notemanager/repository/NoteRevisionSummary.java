@@ -0,0 +1,14 @@
+package com.example.notemanager.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A revision without its data, for listing the history of a note.
+ */
+public record NoteRevisionSummary(int revision,
+                                  String title,
+                                  int depth,
+                                  int contentLength,
+                                  int storedSize,
+                                  LocalDateTime createdAt) {
+}
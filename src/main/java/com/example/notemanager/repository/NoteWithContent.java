@@ -0,0 +1,26 @@
+package com.example.notemanager.repository;
+
+import com.example.notemanager.model.Note;
+
+/**
+ * A note read together with its full content in a single query, for lists that ask for the full body.
+ */
+public record NoteWithContent(Long id,
+                              String title,
+                              String content,
+                              String compressedContent,
+                              String archivedContent,
+                              String preview,
+                              Integer contentLength) {
+
+    public Note toNote() {
+        return Note.builder()
+                .id(id)
+                .title(title)
+                .content(compressedContent != null ? compressedContent
+                        : content != null ? content : archivedContent)
+                .preview(preview)
+                .contentLength(contentLength)
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.notemanager.repository;
+
+import com.example.notemanager.model.UserDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface UserDeletionRepository extends JpaRepository<UserDeletion, Long> {
+
+    // oldest deletion first; another instance purging a user holds its row, that user is skipped
+    @Query(value = "SELECT user_id FROM user_deletions WHERE completed_at IS NULL " +
+            "ORDER BY requested_at LIMIT 1 FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    Optional<Long> lockNextPending();
+}
@@ -1,16 +1,23 @@
 package com.example.notemanager.repository;
 
 import com.example.notemanager.model.User;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "user-lookups")})
     Optional<User> findByUserName(String userName);
     boolean existsByUserName(String userName);
     @Transactional
@@ -26,4 +33,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("UPDATE User u SET u.failedAttempts = 0, u.accountLockedUntil = NULL WHERE u.id = :userId")
     void resetFailedAttempts(@Param("userId") Long userId);
 
+    @Modifying
+    @Query("UPDATE User u SET u.deletedAt = :deletedAt WHERE u.id = :userId AND u.deletedAt IS NULL")
+    int markDeleted(@Param("userId") Long userId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    // only once all notes are gone, otherwise the cascade would remove them in this one statement
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id = :userId AND u.deletedAt IS NOT NULL")
+    int deleteDeleted(@Param("userId") Long userId);
+
 }
@@ -1,13 +1,12 @@
 package com.example.notemanager.security;
 
+import com.example.notemanager.logging.RateLimitedLogger;
 import com.example.notemanager.model.User;
 import com.github.benmanes.caffeine.cache.Cache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -17,7 +16,7 @@ import java.io.IOException;
 
 @Component
 public class AuthenticatedUserCacheFilter extends OncePerRequestFilter {
-    private final Logger log = LoggerFactory.getLogger(this.getClass());
+    private static final RateLimitedLogger hotPathLog = RateLimitedLogger.of(AuthenticatedUserCacheFilter.class, 10);
 
     private final Cache<String, User> userCache;
 
@@ -35,8 +34,11 @@ public class AuthenticatedUserCacheFilter extends OncePerRequestFilter {
         if (authentication != null && authentication.isAuthenticated()) {
             if (authentication.getPrincipal() instanceof CustomUserDetails customUserDetails) {
                 User user = customUserDetails.getUser();
-                userCache.put(user.getUsername(), user);
-                log.info("User {} has been added to cache", user.getUsername());
+                // the eviction on deletion must stick, a deleted user is looked up and rejected instead
+                if (user.isEnabled()) {
+                    userCache.put(user.getUsername(), user);
+                    hotPathLog.debug("User {} has been added to cache", user.getUsername());
+                }
             }
         }
 
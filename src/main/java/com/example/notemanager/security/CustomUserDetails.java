@@ -6,7 +6,7 @@ public class CustomUserDetails extends org.springframework.security.core.userdet
     private final User user;
 
     public CustomUserDetails(User user) {
-        super(user.getUsername(), user.getPassword(), user.getAuthorities());
+        super(user.getUsername(), user.getPassword(), user.isEnabled(), true, true, true, user.getAuthorities());
         this.user = user;
     }
 
@@ -0,0 +1,51 @@
+package com.example.notemanager.security;
+
+import com.example.notemanager.diagnostics.PasswordCheckEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Records every hash and check of a password as {@code notes.auth.password}. BCrypt is slow on purpose,
+ * this is usually the largest part of a login. Checks are also recorded as flight recorder events.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+    private final MeterRegistry meterRegistry;
+    private final Timer encodes;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.encodes = timer("encode", "none");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodes.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordCheckEvent event = new PasswordCheckEvent();
+        event.begin();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        sample.stop(timer("matches", matches ? "match" : "mismatch"));
+        event.matches = matches;
+        event.finish();
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private Timer timer(String operation, String result) {
+        return Timer.builder("notes.auth.password")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
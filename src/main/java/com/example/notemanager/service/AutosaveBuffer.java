@@ -0,0 +1,178 @@
+package com.example.notemanager.service;
+
+import com.example.notemanager.config.AutosaveProperties;
+import com.example.notemanager.datasource.Workload;
+import com.example.notemanager.datasource.WorkloadContext;
+import com.example.notemanager.model.Note;
+import com.example.notemanager.repository.NoteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps only the latest autosave of every note and writes it once the note has been quiet for
+ * {@code quiet-period} or has waited {@code max-delay}, due notes in batches of one transaction each.
+ * A write leaves the buffer only after it committed, so reads never fall back to an older value;
+ * a failed batch stays buffered and is tried again on the next run. Whatever is left is written on
+ * shutdown.
+ */
+public class AutosaveBuffer {
+    private static final Logger log = LoggerFactory.getLogger(AutosaveBuffer.class);
+
+    private final Map<Long, PendingNoteWrite> pending = new ConcurrentHashMap<>();
+    private final AutosaveProperties properties;
+    private final NoteRepository noteRepository;
+    private final ReadCoalescer readCoalescer;
+    private final NoteArchiveService noteArchiveService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final Clock clock;
+    private final int previewLength;
+    private final Counter buffered;
+    private final Counter rejected;
+    private final Counter written;
+    private ScheduledFuture<?> schedule;
+
+    public AutosaveBuffer(AutosaveProperties properties,
+                          NoteRepository noteRepository,
+                          ReadCoalescer readCoalescer,
+                          NoteArchiveService noteArchiveService,
+                          TransactionTemplate transactionTemplate,
+                          TaskScheduler taskScheduler,
+                          MeterRegistry meterRegistry,
+                          Clock clock,
+                          int previewLength) {
+        this.properties = properties;
+        this.noteRepository = noteRepository;
+        this.readCoalescer = readCoalescer;
+        this.noteArchiveService = noteArchiveService;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.clock = clock;
+        this.previewLength = previewLength;
+        this.buffered = Counter.builder("notes.autosave.buffered").register(meterRegistry);
+        this.rejected = Counter.builder("notes.autosave.rejected").register(meterRegistry);
+        this.written = Counter.builder("notes.autosave.written").register(meterRegistry);
+        Gauge.builder("notes.autosave.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    public void start() {
+        if (properties.enabled()) {
+            schedule = taskScheduler.scheduleWithFixedDelay(this::flushDue, properties.flushInterval());
+        }
+    }
+
+    public void stop() {
+        if (schedule != null) {
+            schedule.cancel(false);
+        }
+        if (!pending.isEmpty()) {
+            log.info("Writing {} buffered autosaves before shutdown", pending.size());
+            try {
+                flush(List.copyOf(pending.values()));
+            } catch (RuntimeException e) {
+                log.error("{} buffered autosaves could not be written", pending.size(), e);
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} if the buffer is full and the caller has to write the note itself
+     */
+    public boolean offer(long noteId, long userId, String title, String content) {
+        if (pending.size() >= properties.maxPending() && !pending.containsKey(noteId)) {
+            rejected.increment();
+            return false;
+        }
+        Note snapshot = Note.builder().content(content).build();
+        snapshot.updatePreview(previewLength);
+        Instant now = clock.instant();
+        pending.merge(noteId,
+                new PendingNoteWrite(noteId, userId, title, content, snapshot.getPreview(),
+                        snapshot.getContentLength(), now, now),
+                (previous, next) -> next.since(previous.firstBufferedAt()));
+        buffered.increment();
+        return true;
+    }
+
+    public Optional<PendingNoteWrite> find(long noteId, long userId) {
+        return Optional.ofNullable(pending.get(noteId)).filter(write -> write.userId() == userId);
+    }
+
+    /**
+     * Removes the buffered autosave, for writes that replace or build on it.
+     */
+    public Optional<PendingNoteWrite> take(long noteId, long userId) {
+        PendingNoteWrite write = pending.get(noteId);
+        if (write == null || write.userId() != userId || !pending.remove(noteId, write)) {
+            return Optional.empty();
+        }
+        return Optional.of(write);
+    }
+
+    public void flushDue() {
+        Instant now = clock.instant();
+        List<PendingNoteWrite> due = pending.values().stream()
+                .filter(write -> !write.lastBufferedAt().plus(properties.quietPeriod()).isAfter(now)
+                        || !write.firstBufferedAt().plus(properties.maxDelay()).isAfter(now))
+                .toList();
+        if (due.isEmpty()) {
+            return;
+        }
+        try {
+            flush(due);
+        } catch (RuntimeException e) {
+            log.warn("Writing buffered autosaves failed, they are tried again on the next run", e);
+        }
+    }
+
+    private void flush(List<PendingNoteWrite> writes) {
+        for (int from = 0; from < writes.size(); from += properties.batchSize()) {
+            List<PendingNoteWrite> batch = writes.subList(from, Math.min(from + properties.batchSize(), writes.size()));
+            WorkloadContext.run(Workload.WRITE, () -> transactionTemplate.executeWithoutResult(status -> write(batch)));
+            // a newer autosave that arrived in the meantime stays for the next run
+            batch.forEach(write -> pending.remove(write.noteId(), write));
+            batch.stream().map(PendingNoteWrite::userId).distinct().forEach(readCoalescer::invalidate);
+            written.increment(batch.size());
+        }
+    }
+
+    private void write(List<PendingNoteWrite> batch) {
+        Map<Long, Note> notes = noteRepository.findAllById(batch.stream().map(PendingNoteWrite::noteId).toList())
+                .stream()
+                .collect(Collectors.toMap(Note::getId, Function.identity()));
+        List<Long> missing = new ArrayList<>();
+        for (PendingNoteWrite write : batch) {
+            Note note = notes.get(write.noteId());
+            // deleted since it was buffered
+            if (note == null || !note.getUser().getId().equals(write.userId())) {
+                missing.add(write.noteId());
+                continue;
+            }
+            noteArchiveService.restore(note);
+            noteArchiveService.touch(note.getId());
+            note.setTitle(write.title());
+            note.setContent(write.content());
+        }
+        // the updates go out as one JDBC batch
+        noteRepository.flush();
+        if (!missing.isEmpty()) {
+            log.debug("Dropped autosaves of notes {} that no longer exist", missing);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.notemanager.service;
+
+import com.example.notemanager.datasource.Workload;
+import com.example.notemanager.datasource.WorkloadContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Archives cold notes in batches on the bulk pool, one transaction per batch, and writes the tracked
+ * note accesses the cold check is based on.
+ */
+public class NoteArchiveJob {
+    private static final Logger log = LoggerFactory.getLogger(NoteArchiveJob.class);
+
+    private final NoteArchiveService noteArchiveService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final Duration coldAfter;
+    private final int batchSize;
+    private final Duration interval;
+    private final Duration accessFlushInterval;
+    private final Timer batches;
+    private ScheduledFuture<?> schedule;
+    private ScheduledFuture<?> accessSchedule;
+
+    public NoteArchiveJob(NoteArchiveService noteArchiveService,
+                          TransactionTemplate transactionTemplate,
+                          TaskScheduler taskScheduler,
+                          MeterRegistry meterRegistry,
+                          Duration coldAfter,
+                          int batchSize,
+                          Duration interval,
+                          Duration accessFlushInterval) {
+        this.noteArchiveService = noteArchiveService;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.coldAfter = coldAfter;
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.accessFlushInterval = accessFlushInterval;
+        this.batches = Timer.builder("notes.archive.batch").register(meterRegistry);
+    }
+
+    public void start() {
+        accessSchedule = taskScheduler.scheduleWithFixedDelay(this::flushAccesses, accessFlushInterval);
+        schedule = taskScheduler.scheduleWithFixedDelay(this::run, interval);
+    }
+
+    public void stop() {
+        if (schedule != null) {
+            schedule.cancel(false);
+        }
+        if (accessSchedule != null) {
+            accessSchedule.cancel(false);
+        }
+        flushAccesses();
+    }
+
+    public void run() {
+        // accesses still in memory must count before anything is judged cold
+        flushAccesses();
+        LocalDateTime cutoff = LocalDateTime.now().minus(coldAfter);
+        int total = 0;
+        try {
+            Integer batch;
+            do {
+                batch = batches.record(() -> WorkloadContext.call(Workload.BULK,
+                        () -> transactionTemplate.execute(status -> noteArchiveService.archiveBatch(cutoff, batchSize))));
+                total += batch != null ? batch : 0;
+            } while (batch != null && batch == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Archiving stopped after {} notes", total, e);
+        }
+        if (total > 0) {
+            log.info("Archived {} notes not accessed since {}", total, cutoff);
+        }
+    }
+
+    private void flushAccesses() {
+        try {
+            WorkloadContext.run(Workload.BULK, noteArchiveService::flushAccesses);
+        } catch (RuntimeException e) {
+            log.warn("Writing note access times failed", e);
+        }
+    }
+}
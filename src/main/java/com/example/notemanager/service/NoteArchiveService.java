@@ -0,0 +1,133 @@
+package com.example.notemanager.service;
+
+import com.example.notemanager.config.ArchiveProperties;
+import com.example.notemanager.exception.ExceptionMessages;
+import com.example.notemanager.exception.NoteServiceException;
+import com.example.notemanager.model.ArchivedNoteContent;
+import com.example.notemanager.model.Note;
+import com.example.notemanager.model.User;
+import com.example.notemanager.repository.ArchivedNoteContentRepository;
+import com.example.notemanager.repository.NoteRepository;
+import com.example.notemanager.repository.NoteWithContent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moves the content of cold notes to {@code notes_archive} and back. Every read or write of a note's
+ * content first restores it, so callers never see an archived note without content.
+ * <p>
+ * Accesses are collected in memory and written to {@code notes.last_accessed_at} in one statement per
+ * flush, straight through JDBC: the column isn't mapped, so touching it neither rewrites the entity nor
+ * evicts it from the second-level cache.
+ */
+@Service
+public class NoteArchiveService {
+    private final NoteRepository noteRepository;
+    private final ArchivedNoteContentRepository archivedNoteContentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveProperties properties;
+    private final Set<Long> accessed = ConcurrentHashMap.newKeySet();
+    private final Counter archived;
+    private final Counter restored;
+
+    public NoteArchiveService(NoteRepository noteRepository,
+                              ArchivedNoteContentRepository archivedNoteContentRepository,
+                              JdbcTemplate jdbcTemplate,
+                              ArchiveProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.noteRepository = noteRepository;
+        this.archivedNoteContentRepository = archivedNoteContentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.archived = Counter.builder("notes.archive.moved").tag("direction", "archived").register(meterRegistry);
+        this.restored = Counter.builder("notes.archive.moved").tag("direction", "restored").register(meterRegistry);
+    }
+
+    public void touch(long noteId) {
+        if (properties.enabled()) {
+            accessed.add(noteId);
+        }
+    }
+
+    public void flushAccesses() {
+        if (accessed.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(accessed);
+        accessed.removeAll(ids);
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(
+                    "UPDATE notes SET last_accessed_at = ? WHERE id = ANY (?) AND last_accessed_at < ?");
+            statement.setTimestamp(1, Timestamp.valueOf(now));
+            statement.setArray(2, connection.createArrayOf("bigint", ids.toArray()));
+            statement.setTimestamp(3, Timestamp.valueOf(now.minus(properties.accessResolution())));
+            return statement;
+        });
+    }
+
+    /**
+     * Moves the content of an archived note back into the note, in the caller's transaction.
+     */
+    @Transactional
+    public void restore(Note note) {
+        if (!note.isArchived()) {
+            return;
+        }
+        ArchivedNoteContent content = archivedNoteContentRepository.findById(note.getId())
+                .orElseThrow(() -> new IllegalStateException(
+                        "Archived content of note " + note.getId() + " is missing"));
+        note.setContent(content.getContent());
+        note.setArchived(false);
+        archivedNoteContentRepository.delete(content);
+        restored.increment();
+    }
+
+    /**
+     * Restores the note in a transaction of its own, for readers that run in a read-only one.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Note restoreById(long noteId, User user) {
+        Note note = noteRepository.findByIdAndUser(noteId, user)
+                .orElseThrow(() -> new NoteServiceException(ExceptionMessages.NOTE_NOT_FOUND.getMessage()));
+        restore(note);
+        note.getContent();
+        return note;
+    }
+
+    /**
+     * Archives up to {@code limit} notes that haven't been accessed since {@code cutoff}, to be run in
+     * a transaction.
+     *
+     * @return the number of archived notes
+     */
+    public int archiveBatch(LocalDateTime cutoff, int limit) {
+        List<Long> ids = noteRepository.lockArchiveCandidates(cutoff, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<NoteWithContent> notes = noteRepository.findWithContentByIdIn(ids);
+        archivedNoteContentRepository.saveAll(notes.stream()
+                .map(note -> ArchivedNoteContent.builder()
+                        .noteId(note.id())
+                        .content(note.toNote().getContent())
+                        .archivedAt(now)
+                        .build())
+                .toList());
+        archivedNoteContentRepository.flush();
+        noteRepository.markArchived(ids);
+        archived.increment(ids.size());
+        return ids.size();
+    }
+}
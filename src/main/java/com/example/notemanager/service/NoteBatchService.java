@@ -0,0 +1,139 @@
+package com.example.notemanager.service;
+
+import com.example.notemanager.exception.ExceptionMessages;
+import com.example.notemanager.model.Note;
+import com.example.notemanager.model.User;
+import com.example.notemanager.repository.NoteRepository;
+import com.example.notemanager.repository.NoteWithContent;
+import com.example.notemanager.service.NoteOperationResult.Outcome;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a batch of note operations of the authenticated user in one transaction: one query loads
+ * every note that is read, one every note that is changed, inserts and updates are flushed together
+ * and all deletes are a single statement. An operation that doesn't apply (unknown note, invalid data)
+ * fails on its own without affecting the others.
+ */
+@Service
+@RequiredArgsConstructor
+public class NoteBatchService {
+    private final NoteRepository noteRepository;
+    private final UserService userService;
+    private final ReadCoalescer readCoalescer;
+    private final AutosaveBuffer autosaveBuffer;
+    private final NoteArchiveService noteArchiveService;
+
+    /**
+     * @param operations every note id may occur in one operation only
+     */
+    @Transactional
+    public List<NoteOperationResult> execute(List<NoteOperation> operations) {
+        User currentUser = userService.getAuthenticatedUser();
+        Set<Long> readIds = idsOf(operations, NoteOperation.Type.GET);
+        Map<Long, NoteWithContent> reads = readIds.isEmpty() ? Map.of()
+                : noteRepository.findWithContentByIdInAndUser(readIds, currentUser)
+                .stream().collect(Collectors.toMap(NoteWithContent::id, Function.identity()));
+        Set<Long> writeIds = idsOf(operations, NoteOperation.Type.UPDATE, NoteOperation.Type.DELETE);
+        Map<Long, Note> writes = writeIds.isEmpty() ? Map.of()
+                : noteRepository.findAllByIdInAndUser(writeIds, currentUser)
+                .stream().collect(Collectors.toMap(Note::getId, Function.identity()));
+
+        List<NoteOperationResult> results = new ArrayList<>(operations.size());
+        List<Note> creates = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        boolean updated = false;
+        for (NoteOperation operation : operations) {
+            results.add(switch (operation.type()) {
+                case GET -> {
+                    if (!reads.containsKey(operation.id())) {
+                        yield notFound(operation.id());
+                    }
+                    Note note = reads.get(operation.id()).toNote();
+                    noteArchiveService.touch(note.getId());
+                    yield NoteOperationResult.of(Outcome.OK, autosaveBuffer.find(note.getId(), currentUser.getId())
+                            .map(pending -> pending.applyTo(note))
+                            .orElse(note));
+                }
+                case CREATE -> {
+                    if (!isValid(operation.note())) {
+                        yield invalid(null);
+                    }
+                    Note note = Note.builder()
+                            .title(operation.note().getTitle())
+                            .content(operation.note().getContent())
+                            .user(currentUser)
+                            .build();
+                    creates.add(note);
+                    yield NoteOperationResult.of(Outcome.CREATED, note);
+                }
+                case UPDATE -> {
+                    Note existing = writes.get(operation.id());
+                    if (existing == null) {
+                        yield notFound(operation.id());
+                    }
+                    if (!isValid(operation.note())) {
+                        yield invalid(operation.id());
+                    }
+                    autosaveBuffer.take(operation.id(), currentUser.getId());
+                    noteArchiveService.restore(existing);
+                    noteArchiveService.touch(existing.getId());
+                    existing.setTitle(operation.note().getTitle());
+                    existing.setContent(operation.note().getContent());
+                    updated = true;
+                    yield NoteOperationResult.of(Outcome.OK, existing);
+                }
+                case DELETE -> {
+                    if (!writes.containsKey(operation.id())) {
+                        yield notFound(operation.id());
+                    }
+                    autosaveBuffer.take(operation.id(), currentUser.getId());
+                    deletes.add(operation.id());
+                    yield NoteOperationResult.of(Outcome.DELETED, operation.id(), null);
+                }
+            });
+        }
+
+        noteRepository.saveAll(creates);
+        noteRepository.flush();
+        if (!deletes.isEmpty()) {
+            noteRepository.deleteByIdInAndUser(deletes, currentUser);
+        }
+        if (updated || !creates.isEmpty() || !deletes.isEmpty()) {
+            readCoalescer.invalidate(currentUser.getId());
+        }
+        return results;
+    }
+
+    private static Set<Long> idsOf(List<NoteOperation> operations, NoteOperation.Type... types) {
+        Set<NoteOperation.Type> wanted = new HashSet<>(Arrays.asList(types));
+        return operations.stream()
+                .filter(operation -> wanted.contains(operation.type()))
+                .map(NoteOperation::id)
+                .collect(Collectors.toSet());
+    }
+
+    private static boolean isValid(Note note) {
+        return note != null
+                && note.getTitle() != null && !note.getTitle().isEmpty()
+                && note.getContent() != null && !note.getContent().isEmpty();
+    }
+
+    private static NoteOperationResult notFound(Long id) {
+        return NoteOperationResult.of(Outcome.NOT_FOUND, id, ExceptionMessages.NOTE_NOT_FOUND.getMessage());
+    }
+
+    private static NoteOperationResult invalid(Long id) {
+        return NoteOperationResult.of(Outcome.INVALID, id, ExceptionMessages.INVALID_NOTE_DATA.getMessage());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.notemanager.service;
+
+import com.example.notemanager.datasource.Workload;
+import com.example.notemanager.datasource.WorkloadContext;
+import com.example.notemanager.model.Note;
+import com.example.notemanager.repository.NoteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Compresses the content of existing long notes in small batches on the bulk pool, one transaction
+ * per batch. Every run logs how many rows and bytes it compressed and how fast; the same numbers are
+ * published as {@code notes.content.compression.*} meters.
+ */
+public class NoteContentCompressionJob {
+    private static final Logger log = LoggerFactory.getLogger(NoteContentCompressionJob.class);
+
+    private final NoteRepository noteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final int minLength;
+    private final int batchSize;
+    private final Duration interval;
+    private final Counter rows;
+    private final Counter rawBytes;
+    private final Counter storedBytes;
+    private final Timer batches;
+    private ScheduledFuture<?> schedule;
+
+    public NoteContentCompressionJob(NoteRepository noteRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     TaskScheduler taskScheduler,
+                                     MeterRegistry meterRegistry,
+                                     int minLength,
+                                     int batchSize,
+                                     Duration interval) {
+        this.noteRepository = noteRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.minLength = minLength;
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.rows = Counter.builder("notes.content.compression.rows").register(meterRegistry);
+        this.rawBytes = Counter.builder("notes.content.compression.bytes").tag("state", "raw")
+                .baseUnit("bytes").register(meterRegistry);
+        this.storedBytes = Counter.builder("notes.content.compression.bytes").tag("state", "stored")
+                .baseUnit("bytes").register(meterRegistry);
+        this.batches = Timer.builder("notes.content.compression.batch").register(meterRegistry);
+    }
+
+    public void start() {
+        schedule = taskScheduler.scheduleWithFixedDelay(this::run, interval);
+    }
+
+    public void stop() {
+        if (schedule != null) {
+            schedule.cancel(false);
+        }
+    }
+
+    public void run() {
+        long started = System.nanoTime();
+        BatchResult total = new BatchResult(0, 0, 0);
+        try {
+            BatchResult batch;
+            do {
+                batch = batches.record(() -> WorkloadContext.call(Workload.BULK,
+                        () -> transactionTemplate.execute(status -> compressBatch())));
+                total = total.plus(batch);
+            } while (batch != null && batch.rows() == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Content compression stopped after {} notes", total.rows(), e);
+        }
+        if (total.rows() > 0) {
+            double seconds = Math.max((System.nanoTime() - started) / 1e9, 1e-3);
+            log.info("Compressed {} notes: {} bytes stored as {} bytes ({}%), {} notes/s, {} KB/s",
+                    total.rows(), total.rawBytes(), total.storedBytes(),
+                    Math.round(100.0 * total.storedBytes() / total.rawBytes()),
+                    Math.round(total.rows() / seconds), Math.round(total.rawBytes() / 1024.0 / seconds));
+        }
+    }
+
+    BatchResult compressBatch() {
+        List<Note> notes = noteRepository.findCompressionCandidates(minLength, PageRequest.of(0, batchSize));
+        if (notes.isEmpty()) {
+            return new BatchResult(0, 0, 0);
+        }
+        long raw = 0;
+        for (Note note : notes) {
+            raw += note.getContent().getBytes(StandardCharsets.UTF_8).length;
+            note.compressContent();
+        }
+        noteRepository.flush();
+        long stored = noteRepository.sumCompressedContentBytes(notes.stream().map(Note::getId).toList());
+        rows.increment(notes.size());
+        rawBytes.increment(raw);
+        storedBytes.increment(stored);
+        return new BatchResult(notes.size(), raw, stored);
+    }
+
+    record BatchResult(int rows, long rawBytes, long storedBytes) {
+        BatchResult plus(BatchResult other) {
+            return other == null ? this : new BatchResult(rows + other.rows,
+                    rawBytes + other.rawBytes, storedBytes + other.storedBytes);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.notemanager.service;
+
+import com.example.notemanager.model.Note;
+
+/**
+ * One operation of a batch, {@code note} carries the title and content of creates and updates.
+ */
+public record NoteOperation(Type type, Long id, Note note) {
+
+    public enum Type {
+        GET,
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.notemanager.service;
+
+import com.example.notemanager.model.Note;
+
+public record NoteOperationResult(Outcome outcome, Long id, Note note, String error) {
+
+    public enum Outcome {
+        OK,
+        CREATED,
+        DELETED,
+        NOT_FOUND,
+        INVALID
+    }
+
+    static NoteOperationResult of(Outcome outcome, Note note) {
+        return new NoteOperationResult(outcome, null, note, null);
+    }
+
+    // created notes only get their id when the batch is flushed
+    @Override
+    public Long id() {
+        return note != null ? note.getId() : id;
+    }
+
+    static NoteOperationResult of(Outcome outcome, Long id, String error) {
+        return new NoteOperationResult(outcome, id, null, error);
+    }
+}
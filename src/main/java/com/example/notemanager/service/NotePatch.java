@@ -0,0 +1,17 @@
+package com.example.notemanager.service;
+
+/**
+ * The net effect of a patch: fields that are {@code null} stay as they are, {@code append} is added
+ * to the end of the content after {@code content} has been applied.
+ */
+public record NotePatch(String title, String content, String append) {
+
+    public NotePatch over(PendingNoteWrite pending) {
+        return new NotePatch(title != null ? title : pending.title(),
+                content != null ? content : pending.content(), append);
+    }
+
+    public boolean isAppendOnly() {
+        return title == null && content == null && append != null;
+    }
+}
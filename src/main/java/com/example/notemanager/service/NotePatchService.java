@@ -0,0 +1,84 @@
+package com.example.notemanager.service;
+
+import com.example.notemanager.exception.ExceptionMessages;
+import com.example.notemanager.exception.NoteServiceException;
+import com.example.notemanager.model.Note;
+import com.example.notemanager.model.NoteField;
+import com.example.notemanager.model.NoteProjection;
+import com.example.notemanager.model.User;
+import com.example.notemanager.repository.NoteRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+@Service
+public class NotePatchService {
+    private static final Set<NoteField> PATCH_RESULT = EnumSet.of(
+            NoteField.ID, NoteField.TITLE, NoteField.PREVIEW, NoteField.CONTENT_LENGTH, NoteField.VERSION);
+
+    private final NoteRepository noteRepository;
+    private final UserService userService;
+    private final ReadCoalescer readCoalescer;
+    private final AutosaveBuffer autosaveBuffer;
+    private final NoteArchiveService noteArchiveService;
+    private final int previewLength;
+
+    public NotePatchService(NoteRepository noteRepository,
+                            UserService userService,
+                            ReadCoalescer readCoalescer,
+                            AutosaveBuffer autosaveBuffer,
+                            NoteArchiveService noteArchiveService,
+                            @Value("${notes.content.preview-length:200}") int previewLength) {
+        this.noteRepository = noteRepository;
+        this.userService = userService;
+        this.readCoalescer = readCoalescer;
+        this.autosaveBuffer = autosaveBuffer;
+        this.noteArchiveService = noteArchiveService;
+        this.previewLength = previewLength;
+    }
+
+    /**
+     * Appending alone is a single UPDATE that never reads the note. Everything else, and appends
+     * to compressed content, load the note and change it. The content is only loaded when the patch
+     * needs it.
+     *
+     * @return the fields of the patched note that don't need its content
+     */
+    @Transactional
+    public NoteProjection patch(long id, NotePatch patch) {
+        User currentUser = userService.getAuthenticatedUser();
+        // the patch applies on top of an autosave that hasn't been written yet
+        patch = autosaveBuffer.take(id, currentUser.getId()).map(patch::over).orElse(patch);
+        boolean appended = patch.isAppendOnly() && noteRepository.appendContent(
+                id, currentUser, patch.append(), patch.append().length(), previewLength) > 0;
+        if (!appended) {
+            applyToNote(id, currentUser, patch);
+        }
+        readCoalescer.invalidate(currentUser.getId());
+        noteArchiveService.touch(id);
+        return noteRepository.findFieldsByIdAndUser(id, currentUser, PATCH_RESULT)
+                .orElseThrow(() -> new NoteServiceException(ExceptionMessages.NOTE_NOT_FOUND.getMessage()));
+    }
+
+    private void applyToNote(long id, User user, NotePatch patch) {
+        Note note = noteRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new NoteServiceException(ExceptionMessages.NOTE_NOT_FOUND.getMessage()));
+        if ("".equals(patch.title()) || "".equals(patch.content())) {
+            throw new NoteServiceException(ExceptionMessages.INVALID_NOTE_DATA.getMessage());
+        }
+        noteArchiveService.restore(note);
+        if (patch.title() != null) {
+            note.setTitle(patch.title());
+        }
+        if (patch.content() != null) {
+            note.setContent(patch.content());
+        }
+        if (patch.append() != null) {
+            note.setContent(note.getContent() + patch.append());
+        }
+        noteRepository.flush();
+    }
+}
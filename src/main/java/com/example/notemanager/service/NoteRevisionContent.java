@@ -0,0 +1,9 @@
+package com.example.notemanager.service;
+
+import java.time.LocalDateTime;
+
+public record NoteRevisionContent(int revision,
+                                  String title,
+                                  String content,
+                                  LocalDateTime createdAt) {
+}
@@ -0,0 +1,139 @@
+package com.example.notemanager.service;
+
+import com.example.notemanager.config.RevisionProperties;
+import com.example.notemanager.exception.ExceptionMessages;
+import com.example.notemanager.exception.NoteServiceException;
+import com.example.notemanager.model.Note;
+import com.example.notemanager.model.NoteRevision;
+import com.example.notemanager.model.converter.RevisionDeltaCodec;
+import com.example.notemanager.repository.NoteRepository;
+import com.example.notemanager.repository.NoteRevisionRepository;
+import com.example.notemanager.repository.NoteRevisionSummary;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes and rebuilds note revisions. A revision is stored as a delta against the previous one unless
+ * {@code snapshot-interval} deltas precede it or the delta wouldn't be smaller than a snapshot, so
+ * rebuilding any revision reads one snapshot and a bounded number of deltas. Stored bytes per revision
+ * and rebuild times are published as {@code notes.revisions.*} meters.
+ */
+@Service
+public class NoteRevisionService {
+    private final NoteRevisionRepository noteRevisionRepository;
+    private final NoteRepository noteRepository;
+    private final UserService userService;
+    private final RevisionDeltaCodec codec;
+    private final RevisionProperties properties;
+    private final DistributionSummary snapshotBytes;
+    private final DistributionSummary deltaBytes;
+    private final DistributionSummary chainLength;
+    private final Timer reconstruction;
+
+    public NoteRevisionService(NoteRevisionRepository noteRevisionRepository,
+                               NoteRepository noteRepository,
+                               UserService userService,
+                               RevisionDeltaCodec codec,
+                               RevisionProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.noteRevisionRepository = noteRevisionRepository;
+        this.noteRepository = noteRepository;
+        this.userService = userService;
+        this.codec = codec;
+        this.properties = properties;
+        this.snapshotBytes = DistributionSummary.builder("notes.revisions.stored").tag("kind", "snapshot")
+                .baseUnit("bytes").register(meterRegistry);
+        this.deltaBytes = DistributionSummary.builder("notes.revisions.stored").tag("kind", "delta")
+                .baseUnit("bytes").register(meterRegistry);
+        this.chainLength = DistributionSummary.builder("notes.revisions.chain").register(meterRegistry);
+        this.reconstruction = Timer.builder("notes.revisions.reconstruction").register(meterRegistry);
+    }
+
+    /**
+     * Records the state an update just gave the note, to be called in the update's transaction
+     * before it flushes.
+     *
+     * @param previousVersion the version the note had before the update
+     */
+    @Transactional
+    public void record(Note note, String previousTitle, String previousContent, long previousVersion) {
+        if (!properties.enabled()
+                || Objects.equals(previousTitle, note.getTitle()) && Objects.equals(previousContent, note.getContent())) {
+            return;
+        }
+        NoteRevision latest = noteRevisionRepository.findFirstByNoteOrderByRevisionDesc(note).orElse(null);
+        if (latest == null || latest.getNoteVersion() != previousVersion) {
+            // created or changed without a revision (patch, autosave, batch): keep where it stood first
+            latest = save(note, latest == null ? 1 : latest.getRevision() + 1, previousVersion,
+                    previousTitle, previousContent, previousContent, null);
+        }
+        save(note, latest.getRevision() + 1, previousVersion + 1,
+                note.getTitle(), note.getContent(), previousContent, latest);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<NoteRevisionSummary> list(long noteId, PageRequest pageRequest) {
+        return noteRevisionRepository.findSummariesByNote(findNote(noteId), pageRequest);
+    }
+
+    @Transactional(readOnly = true)
+    public NoteRevisionContent get(long noteId, int revision) {
+        List<NoteRevision> chain = noteRevisionRepository.findChain(findNote(noteId), revision);
+        if (chain.isEmpty() || chain.get(chain.size() - 1).getRevision() != revision) {
+            throw new NoteServiceException(ExceptionMessages.REVISION_NOT_FOUND.getMessage());
+        }
+        chainLength.record(chain.size());
+        String content = reconstruction.record(() -> rebuild(chain));
+        NoteRevision target = chain.get(chain.size() - 1);
+        return new NoteRevisionContent(target.getRevision(), target.getTitle(), content, target.getCreatedAt());
+    }
+
+    private NoteRevision save(Note note, int revision, long noteVersion, String title, String content,
+                              String previousContent, NoteRevision previous) {
+        byte[] data = null;
+        int depth = 0;
+        if (previous != null && previous.getDepth() + 1 < properties.snapshotInterval()) {
+            data = codec.delta(previousContent, content);
+            depth = previous.getDepth() + 1;
+        }
+        byte[] snapshot = data == null || data.length > content.length() / 2 ? codec.snapshot(content) : null;
+        if (snapshot != null && (data == null || snapshot.length <= data.length)) {
+            data = snapshot;
+            depth = 0;
+        }
+        (depth == 0 ? snapshotBytes : deltaBytes).record(data.length);
+        return noteRevisionRepository.save(NoteRevision.builder()
+                .note(note)
+                .revision(revision)
+                .noteVersion(noteVersion)
+                .title(title)
+                .depth(depth)
+                .data(data)
+                .contentLength(content.length())
+                .storedSize(data.length)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private String rebuild(List<NoteRevision> chain) {
+        String content = codec.readSnapshot(chain.get(0).getData());
+        for (NoteRevision delta : chain.subList(1, chain.size())) {
+            content = codec.apply(content, delta.getData());
+        }
+        return content;
+    }
+
+    private Note findNote(long noteId) {
+        return noteRepository.findByIdAndUser(noteId, userService.getAuthenticatedUser())
+                .orElseThrow(() -> new NoteServiceException(ExceptionMessages.NOTE_NOT_FOUND.getMessage()));
+    }
+}
@@ -3,57 +3,270 @@ package com.example.notemanager.service;
 import com.example.notemanager.exception.ExceptionMessages;
 import com.example.notemanager.exception.NoteServiceException;
 import com.example.notemanager.model.Note;
+import com.example.notemanager.model.NoteField;
+import com.example.notemanager.model.NoteProjection;
 import com.example.notemanager.model.User;
 import com.example.notemanager.repository.NoteRepository;
+import com.example.notemanager.repository.NoteWithContent;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = "notes.note-service")
 public class NoteService {
+    private static final Set<NoteField> AUTOSAVED_FIELDS =
+            EnumSet.of(NoteField.TITLE, NoteField.CONTENT, NoteField.PREVIEW, NoteField.CONTENT_LENGTH);
+
     private final NoteRepository noteRepository;
     private final UserService userService;
+    private final PagedQueryExecutor pagedQueryExecutor;
+    private final ReadCoalescer readCoalescer;
+    private final AutosaveBuffer autosaveBuffer;
+    private final NoteRevisionService noteRevisionService;
+    private final NoteArchiveService noteArchiveService;
 
+    /**
+     * Notes of the page come without their content, only the preview can be read.
+     */
+    @Timed(value = "notes.service", extraTags = {"operation", "list"})
     public Page<Note> listAll(PageRequest pageRequest) {
         User currentUser = getAuthenticatedUser();
-        return noteRepository.findByUser(currentUser, pageRequest);
+        return readCoalescer.execute(currentUser.getId(), "listAll", List.of(pageRequest),
+                () -> pagedQueryExecutor.fetch(PagedEndpoint.LIST, pageRequest,
+                        () -> noteRepository.findByUser(currentUser, pageRequest),
+                        () -> noteRepository.findContentByUser(currentUser, pageRequest),
+                        () -> noteRepository.countByUser(currentUser)), NoteService::copy)
+                .map(note -> withAutosave(note, currentUser));
+    }
+
+    @Timed(value = "notes.service", extraTags = {"operation", "list"})
+    public Page<Note> listAll(PageRequest pageRequest, boolean withContent) {
+        if (!withContent) {
+            return listAll(pageRequest);
+        }
+        User currentUser = getAuthenticatedUser();
+        return readCoalescer.execute(currentUser.getId(), "listAllWithContent", List.of(pageRequest),
+                () -> pagedQueryExecutor.fetch(PagedEndpoint.LIST, pageRequest,
+                        () -> noteRepository.findWithContentByUser(currentUser, pageRequest),
+                        () -> noteRepository.findContentWithBodyByUser(currentUser, pageRequest),
+                        () -> noteRepository.countByUser(currentUser))
+                        .map(NoteWithContent::toNote), NoteService::copy)
+                .map(note -> withAutosave(note, currentUser));
     }
 
+    @Transactional(readOnly = true)
+    @Timed(value = "notes.service", extraTags = {"operation", "get"})
     public Note getById(long id) {
-        return findNoteByIdAndUser(id, getAuthenticatedUser());
+        User currentUser = getAuthenticatedUser();
+        Note note = readCoalescer.execute(currentUser.getId(), "getById", List.of(id), () -> {
+            Note found = findNoteByIdAndUser(id, currentUser);
+            if (found.isArchived()) {
+                // this transaction is read-only, the note is restored in one of its own
+                found = noteArchiveService.restoreById(id, currentUser);
+            }
+            // the content is lazy and has to be loaded before the transaction ends
+            found.getContent();
+            return found;
+        }, Note::copy);
+        noteArchiveService.touch(id);
+        return withAutosave(note, currentUser);
+    }
+
+    @Timed(value = "notes.service", extraTags = {"operation", "list-fields"})
+    public Page<NoteProjection> listFields(PageRequest pageRequest, Set<NoteField> fields) {
+        User currentUser = getAuthenticatedUser();
+        Set<NoteField> selected = withAutosaveKey(fields);
+        return readCoalescer.execute(currentUser.getId(), "listFields", List.of(pageRequest, fields),
+                () -> pagedQueryExecutor.fetch(PagedEndpoint.LIST, pageRequest,
+                        () -> PageableExecutionUtils.getPage(
+                                noteRepository.findFields(currentUser, null, Set.of(), selected, pageRequest),
+                                pageRequest, () -> noteRepository.countByUser(currentUser)),
+                        () -> noteRepository.findFields(currentUser, null, Set.of(), selected, pageRequest),
+                        () -> noteRepository.countByUser(currentUser)))
+                .map(projection -> withAutosave(projection, fields, currentUser));
     }
 
+    @Transactional(readOnly = true)
+    @Timed(value = "notes.service", extraTags = {"operation", "get-fields"})
+    public NoteProjection getFieldsById(long id, Set<NoteField> fields) {
+        User currentUser = getAuthenticatedUser();
+        NoteProjection projection = readCoalescer.execute(currentUser.getId(), "getFieldsById", List.of(id, fields),
+                () -> noteRepository.findFieldsByIdAndUser(id, currentUser, fields)
+                        .orElseThrow(() -> new NoteServiceException(ExceptionMessages.NOTE_NOT_FOUND.getMessage())));
+        noteArchiveService.touch(id);
+        return autosaveBuffer.find(id, currentUser.getId())
+                .map(pending -> pending.applyTo(projection))
+                .orElse(projection);
+    }
+
+    @Timed(value = "notes.service", extraTags = {"operation", "create"})
     public Note create(Note note) {
         validateNoteData(note);
-        note.setUser(getAuthenticatedUser());
-        return noteRepository.save(note);
+        User currentUser = getAuthenticatedUser();
+        note.setUser(currentUser);
+        Note savedNote = noteRepository.save(note);
+        readCoalescer.invalidate(currentUser.getId());
+        return savedNote;
     }
 
     @Transactional
+    @Timed(value = "notes.service", extraTags = {"operation", "update"})
     public Note update(Note note) {
-        Note existingNote = findNoteByIdAndUser(note.getId(), getAuthenticatedUser());
+        User currentUser = getAuthenticatedUser();
+        Note existingNote = findNoteByIdAndUser(note.getId(), currentUser);
+        // an explicit save supersedes whatever the editor autosaved before
+        autosaveBuffer.take(note.getId(), currentUser.getId());
+        noteArchiveService.restore(existingNote);
+        noteArchiveService.touch(existingNote.getId());
+        String previousTitle = existingNote.getTitle();
+        String previousContent = existingNote.getContent();
+        long previousVersion = existingNote.getVersion();
         existingNote.setTitle(note.getTitle());
         existingNote.setContent(note.getContent());
-        return noteRepository.save(existingNote);
+        Note savedNote = noteRepository.save(existingNote);
+        noteRevisionService.record(savedNote, previousTitle, previousContent, previousVersion);
+        readCoalescer.invalidate(currentUser.getId());
+        return savedNote;
+    }
+
+    /**
+     * Buffers the new title and content in the {@link AutosaveBuffer} instead of writing them. Ownership
+     * is checked once per buffered note; when the buffer is full the note is written right away.
+     */
+    @Transactional
+    @Timed(value = "notes.service", extraTags = {"operation", "autosave"})
+    public void autosave(Note note) {
+        validateNoteData(note);
+        User currentUser = getAuthenticatedUser();
+        if (autosaveBuffer.find(note.getId(), currentUser.getId()).isEmpty()
+                && !noteRepository.existsByIdAndUser(note.getId(), currentUser)) {
+            throw new NoteServiceException(ExceptionMessages.NOTE_NOT_FOUND.getMessage());
+        }
+        if (!autosaveBuffer.offer(note.getId(), currentUser.getId(), note.getTitle(), note.getContent())) {
+            Note existingNote = findNoteByIdAndUser(note.getId(), currentUser);
+            noteArchiveService.restore(existingNote);
+            noteArchiveService.touch(existingNote.getId());
+            existingNote.setTitle(note.getTitle());
+            existingNote.setContent(note.getContent());
+            noteRepository.save(existingNote);
+            readCoalescer.invalidate(currentUser.getId());
+        }
     }
 
+    @Timed(value = "notes.service", extraTags = {"operation", "delete"})
     public void delete(long id) {
-        Note note = findNoteByIdAndUser(id, getAuthenticatedUser());
+        User currentUser = getAuthenticatedUser();
+        Note note = findNoteByIdAndUser(id, currentUser);
+        autosaveBuffer.take(id, currentUser.getId());
         noteRepository.delete(note);
+        readCoalescer.invalidate(currentUser.getId());
     }
 
+    /**
+     * Notes of the page come without their content, only the preview can be read.
+     */
+    @Timed(value = "notes.service", extraTags = {"operation", "search"})
     public Page<Note> search(String keyword, PageRequest pageRequest) {
         User currentUser = getAuthenticatedUser();
-        return noteRepository.findByUserAndKeyword(currentUser, keyword, pageRequest);
+        return readCoalescer.execute(currentUser.getId(), "search", List.of(keyword, pageRequest), () -> {
+                    Set<Long> compressedMatches = noteRepository.findCompressedContentMatches(currentUser, keyword);
+                    return pagedQueryExecutor.fetch(PagedEndpoint.SEARCH, pageRequest,
+                            () -> noteRepository.findByUserAndKeyword(currentUser, keyword, compressedMatches,
+                                    pageRequest),
+                            () -> noteRepository.findContentByUserAndKeyword(currentUser, keyword, compressedMatches,
+                                    pageRequest),
+                            () -> noteRepository.countByUserAndKeyword(currentUser, keyword, compressedMatches));
+                }, NoteService::copy)
+                .map(note -> withAutosave(note, currentUser));
+    }
+
+    @Timed(value = "notes.service", extraTags = {"operation", "search"})
+    public Page<Note> search(String keyword, PageRequest pageRequest, boolean withContent) {
+        if (!withContent) {
+            return search(keyword, pageRequest);
+        }
+        User currentUser = getAuthenticatedUser();
+        return readCoalescer.execute(currentUser.getId(), "searchWithContent", List.of(keyword, pageRequest), () -> {
+                    Set<Long> compressedMatches = noteRepository.findCompressedContentMatches(currentUser, keyword);
+                    return pagedQueryExecutor.fetch(PagedEndpoint.SEARCH, pageRequest,
+                            () -> noteRepository.findWithContentByUserAndKeyword(currentUser, keyword,
+                                    compressedMatches, pageRequest),
+                            () -> noteRepository.findContentWithBodyByUserAndKeyword(currentUser, keyword,
+                                    compressedMatches, pageRequest),
+                            () -> noteRepository.countByUserAndKeyword(currentUser, keyword, compressedMatches))
+                            .map(NoteWithContent::toNote);
+                }, NoteService::copy)
+                .map(note -> withAutosave(note, currentUser));
+    }
+
+    @Timed(value = "notes.service", extraTags = {"operation", "search-fields"})
+    public Page<NoteProjection> searchFields(String keyword, PageRequest pageRequest, Set<NoteField> fields) {
+        User currentUser = getAuthenticatedUser();
+        Set<NoteField> selected = withAutosaveKey(fields);
+        return readCoalescer.execute(currentUser.getId(), "searchFields", List.of(keyword, pageRequest, fields), () -> {
+                    Set<Long> compressedMatches = noteRepository.findCompressedContentMatches(currentUser, keyword);
+                    return pagedQueryExecutor.fetch(PagedEndpoint.SEARCH, pageRequest,
+                            () -> PageableExecutionUtils.getPage(
+                                    noteRepository.findFields(currentUser, keyword, compressedMatches, selected,
+                                            pageRequest),
+                                    pageRequest,
+                                    () -> noteRepository.countByUserAndKeyword(currentUser, keyword, compressedMatches)),
+                            () -> noteRepository.findFields(currentUser, keyword, compressedMatches, selected,
+                                    pageRequest),
+                            () -> noteRepository.countByUserAndKeyword(currentUser, keyword, compressedMatches));
+                })
+                .map(projection -> withAutosave(projection, fields, currentUser));
     }
 
     private User getAuthenticatedUser() {
         return userService.getAuthenticatedUser();
     }
 
+    // notes of a coalesced page are entities of the leader, callers that joined get copies of their own
+    private static Page<Note> copy(Page<Note> page) {
+        return page.map(Note::copy);
+    }
+
+    private Note withAutosave(Note note, User user) {
+        return autosaveBuffer.find(note.getId(), user.getId())
+                .map(pending -> pending.applyTo(note))
+                .orElse(note);
+    }
+
+    /**
+     * Adds the id when an autosave can change one of the fields, the autosave is looked up by it.
+     */
+    private static Set<NoteField> withAutosaveKey(Set<NoteField> fields) {
+        if (fields.contains(NoteField.ID) || Collections.disjoint(fields, AUTOSAVED_FIELDS)) {
+            return fields;
+        }
+        Set<NoteField> selected = EnumSet.copyOf(fields);
+        selected.add(NoteField.ID);
+        return selected;
+    }
+
+    private NoteProjection withAutosave(NoteProjection projection, Set<NoteField> fields, User user) {
+        if (!(projection.get(NoteField.ID) instanceof Long noteId)) {
+            return projection;
+        }
+        NoteProjection applied = autosaveBuffer.find(noteId, user.getId())
+                .map(pending -> pending.applyTo(projection))
+                .orElse(projection);
+        return fields.contains(NoteField.ID) ? applied : applied.only(fields);
+    }
+
     private Note findNoteByIdAndUser(long id, User user) {
         return noteRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new NoteServiceException(ExceptionMessages.NOTE_NOT_FOUND.getMessage()));
@@ -0,0 +1,6 @@
+package com.example.notemanager.service;
+
+public enum PagedEndpoint {
+    LIST,
+    SEARCH
+}
@@ -0,0 +1,178 @@
+package com.example.notemanager.service;
+
+import com.example.notemanager.config.PagingProperties;
+import com.example.notemanager.diagnostics.QueryCount;
+import com.example.notemanager.diagnostics.QueryCounter;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Runs the content and the COUNT query of a paged read side by side, each on its own pooled connection.
+ * Whichever query fails first cancels the other one, so a request never waits for a result it can't use.
+ * Every query runs in its own read-only transaction, which makes it eligible for replica routing.
+ */
+@Component
+public class PagedQueryExecutor {
+    private static final ContextSnapshotFactory CONTEXT = ContextSnapshotFactory.builder().build();
+
+    private final ExecutorService executorService;
+    private final PagingProperties properties;
+    private final PlatformTransactionManager transactionManager;
+    private final Semaphore inFlight;
+    private final Map<PagedEndpoint, EndpointMetrics> metrics = new EnumMap<>(PagedEndpoint.class);
+
+    public PagedQueryExecutor(@Qualifier("pagedQueryExecutorService") ExecutorService executorService,
+                              PagingProperties properties,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.executorService = executorService;
+        this.properties = properties;
+        this.transactionManager = transactionManager;
+        this.inFlight = new Semaphore(properties.maxInFlight());
+        for (PagedEndpoint endpoint : PagedEndpoint.values()) {
+            metrics.put(endpoint, new EndpointMetrics(endpoint, meterRegistry));
+        }
+        // every concurrent read borrows one connection more than the sequential path would
+        meterRegistry.gauge("notes.paging.extra.connections", inFlight,
+                semaphore -> properties.maxInFlight() - semaphore.availablePermits());
+    }
+
+    public <T> Page<T> fetch(PagedEndpoint endpoint,
+                             Pageable pageable,
+                             Supplier<Page<T>> sequentialQuery,
+                             Supplier<List<T>> contentQuery,
+                             LongSupplier countQuery) {
+        TransactionTemplate readOnly = readOnlyTransaction(endpoint);
+        if (!properties.isConcurrent(endpoint)) {
+            return readOnly.execute(status -> sequentialQuery.get());
+        }
+        if (!inFlight.tryAcquire()) {
+            metrics.get(endpoint).fallbacks.increment();
+            return readOnly.execute(status -> sequentialQuery.get());
+        }
+        try {
+            return fetchConcurrently(metrics.get(endpoint), pageable,
+                    () -> readOnly.execute(status -> contentQuery.get()),
+                    () -> readOnly.execute(status -> countQuery.getAsLong()));
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Page<T> fetchConcurrently(EndpointMetrics endpointMetrics,
+                                          Pageable pageable,
+                                          Supplier<List<T>> contentQuery,
+                                          Supplier<Long> countQuery) {
+        long start = System.nanoTime();
+        AtomicLong contentNanos = new AtomicLong();
+        AtomicLong countNanos = new AtomicLong();
+
+        CompletionService<Object> scope = new ExecutorCompletionService<>(executorService);
+        Future<Object> content = scope.submit(timed(contentQuery::get, contentNanos));
+        Future<Object> count = scope.submit(timed(countQuery::get, countNanos));
+        try {
+            long deadline = start + properties.timeout().toNanos();
+            for (int i = 0; i < 2; i++) {
+                Future<Object> done = scope.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    throw new IllegalStateException("Paged query timed out after " + properties.timeout());
+                }
+                done.get();
+            }
+            Page<T> page = new PageImpl<>((List<T>) content.get(), pageable, (Long) count.get());
+
+            long wallNanos = System.nanoTime() - start;
+            endpointMetrics.wall.record(Duration.ofNanos(wallNanos));
+            endpointMetrics.saved.record(Duration.ofNanos(
+                    Math.max(0, contentNanos.get() + countNanos.get() - wallNanos)));
+            return page;
+        } catch (ExecutionException e) {
+            endpointMetrics.failures.increment();
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Paged query failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for paged query", e);
+        } finally {
+            content.cancel(true);
+            count.cancel(true);
+        }
+    }
+
+    private TransactionTemplate readOnlyTransaction(PagedEndpoint endpoint) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setName(PagedQueryExecutor.class.getName() + "." + endpoint.name().toLowerCase());
+        return template;
+    }
+
+    // the statements still count towards, and are traced within, the request that waits for them
+    private static Callable<Object> timed(Supplier<Object> query, AtomicLong elapsed) {
+        QueryCount queryCount = QueryCounter.current();
+        ContextSnapshot context = CONTEXT.captureAll();
+        return () -> {
+            long start = System.nanoTime();
+            try (QueryCounter.Scope ignored = QueryCounter.open(queryCount);
+                 ContextSnapshot.Scope traced = context.setThreadLocals()) {
+                return query.get();
+            } finally {
+                elapsed.set(System.nanoTime() - start);
+            }
+        };
+    }
+
+    private static final class EndpointMetrics {
+        private final Timer wall;
+        private final Timer saved;
+        private final Counter fallbacks;
+        private final Counter failures;
+
+        private EndpointMetrics(PagedEndpoint endpoint, MeterRegistry meterRegistry) {
+            String tag = endpoint.name().toLowerCase();
+            this.wall = Timer.builder("notes.paging.concurrent")
+                    .description("Wall time of a paged read with content and count queries in parallel")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+            this.saved = Timer.builder("notes.paging.saved")
+                    .description("Latency saved compared to running content and count queries one after the other")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+            this.fallbacks = Counter.builder("notes.paging.fallbacks")
+                    .description("Paged reads run sequentially because the extra connection budget was exhausted")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+            this.failures = Counter.builder("notes.paging.failures")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+        }
+    }
+}
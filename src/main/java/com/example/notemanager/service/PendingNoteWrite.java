@@ -0,0 +1,54 @@
+package com.example.notemanager.service;
+
+import com.example.notemanager.model.Note;
+import com.example.notemanager.model.NoteField;
+import com.example.notemanager.model.NoteProjection;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The latest autosaved title and content of a note that hasn't been written yet.
+ */
+public record PendingNoteWrite(long noteId,
+                               long userId,
+                               String title,
+                               String content,
+                               String preview,
+                               int contentLength,
+                               Instant firstBufferedAt,
+                               Instant lastBufferedAt) {
+
+    PendingNoteWrite since(Instant firstBufferedAt) {
+        return new PendingNoteWrite(noteId, userId, title, content, preview, contentLength,
+                firstBufferedAt, lastBufferedAt);
+    }
+
+    /**
+     * @return a copy of the note with the buffered values, the note itself stays untouched
+     */
+    public Note applyTo(Note note) {
+        return Note.builder()
+                .id(note.getId())
+                .title(title)
+                .content(content)
+                .preview(preview)
+                .contentLength(contentLength)
+                .user(note.getUser())
+                .version(note.getVersion())
+                .build();
+    }
+
+    /**
+     * @return a copy of the projection with the buffered values of the fields it contains
+     */
+    public NoteProjection applyTo(NoteProjection projection) {
+        Map<NoteField, Object> values = new EnumMap<>(projection.values());
+        values.replace(NoteField.TITLE, title);
+        values.replace(NoteField.CONTENT, content);
+        values.replace(NoteField.PREVIEW, preview);
+        values.replace(NoteField.CONTENT_LENGTH, contentLength);
+        return new NoteProjection(values);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.notemanager.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Single-flight layer for read methods: concurrent identical reads of the same user share the result
+ * of the one call that reached the database first. Nothing is cached once that call has completed,
+ * and a write of the user detaches the reads in flight, so later callers always start a fresh read.
+ * A write in a transaction detaches them again once it committed: a read that started in between
+ * would still see the old data.
+ * <p>
+ * Callers that joined a flight receive a copy of the leader's result, made by the {@code copy}
+ * function; results without one have to be immutable.
+ */
+@Component
+public class ReadCoalescer {
+    private final ConcurrentMap<ReadKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    public ReadCoalescer(MeterRegistry meterRegistry,
+                         @Value("${notes.single-flight.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        this.leaders = Counter.builder("notes.single.flight.calls")
+                .description("Reads that went to the database")
+                .tag("result", "leader")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("notes.single.flight.calls")
+                .description("Reads that joined an identical read already in flight")
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("notes.single.flight.in.flight", List.of(), inFlight);
+    }
+
+    public <T> T execute(long userId, String operation, List<?> arguments, Supplier<T> read) {
+        return execute(userId, operation, arguments, read, UnaryOperator.identity());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(long userId, String operation, List<?> arguments, Supplier<T> read, UnaryOperator<T> copy) {
+        if (!enabled) {
+            return read.get();
+        }
+        ReadKey key = new ReadKey(userId, operation, arguments);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return copy.apply((T) join(existing));
+        }
+
+        leaders.increment();
+        try {
+            T result = read.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public void invalidate(long userId) {
+        detach(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    detach(userId);
+                }
+            });
+        }
+    }
+
+    public double coalescedCount() {
+        return coalesced.count();
+    }
+
+    private void detach(long userId) {
+        inFlight.keySet().removeIf(key -> key.userId() == userId);
+    }
+
+    private static Object join(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record ReadKey(long userId, String operation, List<?> arguments) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.notemanager.service;
+
+import com.example.notemanager.model.User;
+import com.example.notemanager.model.UserDeletion;
+import com.example.notemanager.repository.NoteRepository;
+import com.example.notemanager.repository.UserDeletionRepository;
+import com.example.notemanager.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes accounts without one huge cascading {@code DELETE}: the request only marks the user deleted,
+ * which locks them out, expires their sessions and hides their notes right away. {@link UserPurgeJob}
+ * then removes the notes chunk by chunk, each in its own short transaction, and the user row last.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserDeletionService {
+    private static final Logger log = LoggerFactory.getLogger(UserDeletionService.class);
+
+    private final UserRepository userRepository;
+    private final UserDeletionRepository userDeletionRepository;
+    private final NoteRepository noteRepository;
+    private final UserService userService;
+    private final ReadCoalescer readCoalescer;
+    private final SessionRegistry sessionRegistry;
+
+    @Transactional
+    public void deleteAuthenticatedUser() {
+        User user = userService.getAuthenticatedUser();
+        LocalDateTime now = LocalDateTime.now();
+        if (userRepository.markDeleted(user.getId(), now) == 0) {
+            return;
+        }
+        userDeletionRepository.save(UserDeletion.builder()
+                .userId(user.getId())
+                .requestedAt(now)
+                .notesTotal(noteRepository.countByUser(user))
+                .build());
+        // evicted only once the deletion is visible, a request reloading the user before would cache it again
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userService.evictUserFromCache(user.getUsername());
+                sessionRegistry.getAllSessions(user.getUsername(), false).forEach(SessionInformation::expireNow);
+            }
+        });
+        readCoalescer.invalidate(user.getId());
+        log.info("User {} marked deleted, notes are purged in the background", user.getId());
+    }
+
+    /**
+     * Purges up to {@code chunkSize} notes of the oldest pending deletion, or removes the user once none
+     * are left. Has to run in a transaction, the deletion stays locked until it commits.
+     *
+     * @return the deletion worked on, {@code null} if none is pending
+     */
+    public PurgedChunk purgeChunk(int chunkSize) {
+        Long userId = userDeletionRepository.lockNextPending().orElse(null);
+        if (userId == null) {
+            return null;
+        }
+        UserDeletion deletion = userDeletionRepository.findById(userId).orElseThrow();
+        List<Long> ids = noteRepository.findIdsByUserId(userId, PageRequest.ofSize(chunkSize));
+        int purged = ids.isEmpty() ? 0 : noteRepository.deleteByIdInAndUserId(ids, userId);
+        deletion.setNotesPurged(deletion.getNotesPurged() + purged);
+        if (ids.isEmpty()) {
+            userRepository.deleteDeleted(userId);
+            deletion.setCompletedAt(LocalDateTime.now());
+        }
+        return new PurgedChunk(deletion, purged);
+    }
+
+    public record PurgedChunk(UserDeletion deletion, int notes) {
+    }
+}
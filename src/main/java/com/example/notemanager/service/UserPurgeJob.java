@@ -0,0 +1,101 @@
+package com.example.notemanager.service;
+
+import com.example.notemanager.datasource.Workload;
+import com.example.notemanager.datasource.WorkloadContext;
+import com.example.notemanager.model.UserDeletion;
+import com.example.notemanager.service.UserDeletionService.PurgedChunk;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Purges the notes of deleted users on the bulk pool, one chunk per transaction with a pause after every
+ * chunk so the purge never holds locks for long or floods the WAL. The job reschedules itself instead of
+ * looping, the shared scheduler thread stays free for the other jobs between chunks.
+ */
+public class UserPurgeJob {
+    private static final Logger log = LoggerFactory.getLogger(UserPurgeJob.class);
+
+    private final UserDeletionService userDeletionService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final int chunkSize;
+    private final Duration chunkDelay;
+    private final Duration interval;
+    private final Timer chunks;
+    private final Counter notes;
+    private final Counter users;
+    private volatile boolean stopped;
+    private ScheduledFuture<?> schedule;
+
+    public UserPurgeJob(UserDeletionService userDeletionService,
+                        TransactionTemplate transactionTemplate,
+                        TaskScheduler taskScheduler,
+                        MeterRegistry meterRegistry,
+                        int chunkSize,
+                        Duration chunkDelay,
+                        Duration interval) {
+        this.userDeletionService = userDeletionService;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.chunkSize = chunkSize;
+        this.chunkDelay = chunkDelay;
+        this.interval = interval;
+        this.chunks = Timer.builder("notes.user-purge.chunk").register(meterRegistry);
+        this.notes = Counter.builder("notes.user-purge.notes").register(meterRegistry);
+        this.users = Counter.builder("notes.user-purge.users").register(meterRegistry);
+    }
+
+    public void start() {
+        scheduleNext(interval);
+    }
+
+    public synchronized void stop() {
+        stopped = true;
+        if (schedule != null) {
+            schedule.cancel(false);
+        }
+    }
+
+    public void run() {
+        Duration next = interval;
+        try {
+            PurgedChunk chunk = chunks.record(() -> WorkloadContext.call(Workload.BULK,
+                    () -> transactionTemplate.execute(status -> userDeletionService.purgeChunk(chunkSize))));
+            if (chunk != null) {
+                report(chunk);
+                next = chunkDelay;
+            }
+        } catch (RuntimeException e) {
+            log.error("Purging deleted users failed", e);
+        }
+        scheduleNext(next);
+    }
+
+    private void report(PurgedChunk chunk) {
+        UserDeletion deletion = chunk.deletion();
+        notes.increment(chunk.notes());
+        if (deletion.isCompleted()) {
+            users.increment();
+            log.info("User {} purged: {} notes in {}", deletion.getUserId(), deletion.getNotesPurged(),
+                    Duration.between(deletion.getRequestedAt(), deletion.getCompletedAt()));
+        } else {
+            log.debug("User {}: {} of about {} notes purged", deletion.getUserId(),
+                    deletion.getNotesPurged(), deletion.getNotesTotal());
+        }
+    }
+
+    private synchronized void scheduleNext(Duration delay) {
+        if (!stopped) {
+            schedule = taskScheduler.schedule(this::run, Instant.now().plus(delay));
+        }
+    }
+}
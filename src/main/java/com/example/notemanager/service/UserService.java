@@ -1,11 +1,15 @@
 package com.example.notemanager.service;
 
+import com.example.notemanager.datasource.Workload;
+import com.example.notemanager.datasource.WorkloadContext;
+import com.example.notemanager.diagnostics.UserCacheLookupEvent;
 import com.example.notemanager.exception.EntityException;
 import com.example.notemanager.exception.ExceptionMessages;
+import com.example.notemanager.logging.RateLimitedLogger;
 import com.example.notemanager.model.User;
 import com.example.notemanager.repository.UserRepository;
 import com.github.benmanes.caffeine.cache.Cache;
-import jakarta.transaction.Transactional;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -17,8 +21,10 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Service
+@Observed(name = "notes.user-service")
 public class UserService {
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
+    private static final RateLimitedLogger hotPathLog = RateLimitedLogger.of(UserService.class, 10);
     private static final int MAX_FAILED_ATTEMPTS = 3;
     private static final int LOCK_DURATION_MINUTES = 15;
 
@@ -36,25 +42,37 @@ public class UserService {
 
     public User getAuthenticatedUser() {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        log.info("Fetching authenticated user for: {}", username);
-
-        // Try to retrieve the user from the cache
-        User cachedUser = userCache.getIfPresent(username);
-        if (cachedUser != null) {
-            log.info("User found in cache: {}", username);
-            return cachedUser;
+        hotPathLog.debug("Fetching authenticated user for: {}", username);
+
+        UserCacheLookupEvent event = new UserCacheLookupEvent();
+        event.begin();
+        event.user = username;
+        try {
+            // Try to retrieve the user from the cache
+            User cachedUser = userCache.getIfPresent(username);
+            if (cachedUser != null) {
+                hotPathLog.debug("User found in cache: {}", username);
+                event.hit = true;
+                return cachedUser;
+            }
+
+            // Fallback: Retrieve the user from the database and store in cache
+            hotPathLog.debug("User not found in cache: {}", username);
+            User user = WorkloadContext.call(Workload.AUTH, () -> userRepository.findByUserName(username))
+                    .orElseThrow(() -> new EntityException(ExceptionMessages.USER_NOT_FOUND.getMessage()));
+            // a session or token issued before the account was deleted must not act for it anymore
+            if (!user.isEnabled()) {
+                throw new EntityException(ExceptionMessages.USER_NOT_FOUND.getMessage());
+            }
+            userCache.put(username, user);
+            return user;
+        } finally {
+            event.finish();
         }
-
-        // Fallback: Retrieve the user from the database and store in cache
-        log.info("User not found in cache: {}", username);
-        User user = userRepository.findByUserName(username)
-                .orElseThrow(() -> new EntityException(ExceptionMessages.USER_NOT_FOUND.getMessage()));
-        userCache.put(username, user);
-        return user;
     }
 
     public String createUser(String username, String password) {
-        if (userRepository.existsByUserName(username)) {
+        if (WorkloadContext.call(Workload.AUTH, () -> userRepository.existsByUserName(username))) {
             return "User already exists";
         }
 
@@ -63,12 +81,12 @@ public class UserService {
                 .password(passwordEncoder.encode(password))
                 .role("ROLE_USER")
                 .build();
-        userRepository.save(user);
+        WorkloadContext.run(Workload.AUTH, () -> userRepository.save(user));
         return "User created";
     }
 
     public Optional<User> findByUserName(String userName) {
-        return Optional.ofNullable(userRepository.findByUserName(userName).orElseThrow(() ->
+        return Optional.ofNullable(WorkloadContext.call(Workload.AUTH, () -> userRepository.findByUserName(userName)).orElseThrow(() ->
                 new EntityException(ExceptionMessages.ENTITY_NOT_FOUND.getMessage())));
     }
 
@@ -81,17 +99,18 @@ public class UserService {
         return isLocked;
     }
 
-    @Transactional
+    // this and resetFailedAttempts run one repository update each, a transaction of its own that starts
+    // inside the AUTH tag and therefore runs on the auth pool
     public void recordFailedAttempt(Long userId) {
         LocalDateTime lockTime = LocalDateTime.now().plusMinutes(LOCK_DURATION_MINUTES);
-        userRepository.incrementFailedAttempts(userId, MAX_FAILED_ATTEMPTS, lockTime);
+        WorkloadContext.run(Workload.AUTH,
+                () -> userRepository.incrementFailedAttempts(userId, MAX_FAILED_ATTEMPTS, lockTime));
         log.info("Incremented failed attempts");
     }
 
-    @Transactional
     public void resetFailedAttempts(User user) {
         if (user.getFailedAttempts() > 0 || user.getAccountLockedUntil() != null) {
-            userRepository.resetFailedAttempts(user.getId());
+            WorkloadContext.run(Workload.AUTH, () -> userRepository.resetFailedAttempts(user.getId()));
             log.info("Reset failed attempts");
         }
     }
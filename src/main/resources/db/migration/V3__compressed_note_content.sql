@@ -0,0 +1,5 @@
+-- long content may be stored deflated in content_compressed instead of content
+ALTER TABLE notes ALTER COLUMN content DROP NOT NULL;
+ALTER TABLE notes ADD COLUMN content_compressed BYTEA;
+ALTER TABLE notes ADD CONSTRAINT notes_content_present
+    CHECK (content IS NOT NULL OR content_compressed IS NOT NULL);
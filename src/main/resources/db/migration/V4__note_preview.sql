@@ -0,0 +1,6 @@
+-- lists show the preview only, the content columns are loaded on demand
+ALTER TABLE notes ADD COLUMN preview VARCHAR(1000);
+ALTER TABLE notes ADD COLUMN content_length INT;
+
+-- 200 is the default notes.content.preview-length; compressed rows get their preview on the next write
+UPDATE notes SET preview = left(content, 200), content_length = length(content) WHERE content IS NOT NULL;
@@ -0,0 +1,2 @@
+-- optimistic locking, lets sync clients tell whether a note changed
+ALTER TABLE notes ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,21 @@
+-- history of note content: deltas against the previous revision with a full snapshot every few revisions
+CREATE SEQUENCE IF NOT EXISTS seq_note_revisions_id
+    START WITH 1
+    INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS note_revisions (
+    id BIGINT DEFAULT nextval('seq_note_revisions_id'),
+    note_id BIGINT NOT NULL,
+    revision INT NOT NULL,
+    note_version BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    -- deltas since the last snapshot, 0 for a snapshot
+    depth INT NOT NULL,
+    data BYTEA NOT NULL,
+    content_length INT NOT NULL,
+    stored_size INT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_note_revisions_id PRIMARY KEY (id),
+    CONSTRAINT fk_note_revisions_note_id FOREIGN KEY (note_id) REFERENCES notes(id) ON DELETE CASCADE,
+    CONSTRAINT uq_note_revisions_note_revision UNIQUE (note_id, revision)
+);
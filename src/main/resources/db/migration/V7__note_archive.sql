@@ -0,0 +1,18 @@
+-- cold tier: the content of notes that haven't been read for a while moves to notes_archive,
+-- the row in notes keeps title, preview and length so lists and counts don't change
+ALTER TABLE notes ADD COLUMN archived BOOLEAN NOT NULL DEFAULT false;
+ALTER TABLE notes ADD COLUMN last_accessed_at TIMESTAMP NOT NULL DEFAULT now();
+ALTER TABLE notes DROP CONSTRAINT notes_content_present;
+ALTER TABLE notes ADD CONSTRAINT notes_content_present
+    CHECK (archived OR content IS NOT NULL OR content_compressed IS NOT NULL);
+
+CREATE INDEX note_archive_candidates_idx ON notes (last_accessed_at) WHERE NOT archived;
+
+-- rows are written once and deleted on restore, never updated
+CREATE TABLE IF NOT EXISTS notes_archive (
+    note_id BIGINT,
+    content_compressed BYTEA NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_notes_archive_note_id PRIMARY KEY (note_id),
+    CONSTRAINT fk_notes_archive_note_id FOREIGN KEY (note_id) REFERENCES notes(id) ON DELETE CASCADE
+) WITH (fillfactor = 100);
@@ -0,0 +1,101 @@
+-- notes hash-partitioned by user_id: every query is scoped by a user, so it reads one partition with its
+-- own smaller indexes, and vacuum works through the table partition by partition.
+-- Runs outside a transaction (see the .conf file): existing rows are copied in committed batches while
+-- other instances keep writing to notes, a trigger mirrors their writes; only the final swap takes a lock.
+
+CREATE TABLE notes_p (
+    id BIGINT NOT NULL DEFAULT nextval('seq_notes_id'),
+    title VARCHAR(255) NOT NULL CHECK (length(title) > 0),
+    content TEXT,
+    user_id BIGINT NOT NULL,
+    content_compressed BYTEA,
+    preview VARCHAR(1000),
+    content_length INT,
+    version BIGINT NOT NULL DEFAULT 0,
+    archived BOOLEAN NOT NULL DEFAULT false,
+    last_accessed_at TIMESTAMP NOT NULL DEFAULT now(),
+    -- a primary key of a partitioned table has to contain the partition key
+    CONSTRAINT pk_notes_p PRIMARY KEY (id, user_id),
+    CONSTRAINT fk_notes_p_user_id FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT notes_p_content_present
+        CHECK (archived OR content IS NOT NULL OR content_compressed IS NOT NULL)
+) PARTITION BY HASH (user_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..${notesPartitions} - 1 LOOP
+        EXECUTE format('CREATE TABLE notes_p_%s PARTITION OF notes_p FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+                       i, ${notesPartitions}, i);
+    END LOOP;
+END $$;
+
+CREATE INDEX note_p_user_idx ON notes_p (user_id);
+CREATE INDEX note_p_archive_candidates_idx ON notes_p (last_accessed_at) WHERE NOT archived;
+
+CREATE FUNCTION notes_mirror() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        DELETE FROM notes_p WHERE id = OLD.id AND user_id = OLD.user_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO notes_p (id, title, content, user_id, content_compressed, preview, content_length,
+                             version, archived, last_accessed_at)
+        VALUES (NEW.id, NEW.title, NEW.content, NEW.user_id, NEW.content_compressed, NEW.preview,
+                NEW.content_length, NEW.version, NEW.archived, NEW.last_accessed_at)
+        ON CONFLICT DO NOTHING;
+    END IF;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+-- waits for running writers, every write after it is mirrored
+CREATE TRIGGER notes_mirror AFTER INSERT OR UPDATE OR DELETE ON notes
+    FOR EACH ROW EXECUTE FUNCTION notes_mirror();
+
+-- FOR SHARE makes a batch wait for concurrent deletes instead of copying rows that are gone
+DO $$
+DECLARE
+    last_id BIGINT := 0;
+    max_id BIGINT;
+BEGIN
+    SELECT COALESCE(max(id), 0) INTO max_id FROM notes;
+    WHILE last_id < max_id LOOP
+        INSERT INTO notes_p (id, title, content, user_id, content_compressed, preview, content_length,
+                             version, archived, last_accessed_at)
+        SELECT id, title, content, user_id, content_compressed, preview, content_length,
+               version, archived, last_accessed_at
+        FROM notes
+        WHERE id > last_id AND id <= last_id + ${notesMigrationBatchSize}
+        FOR SHARE
+        ON CONFLICT DO NOTHING;
+        last_id := last_id + ${notesMigrationBatchSize};
+        COMMIT;
+    END LOOP;
+END $$;
+
+-- foreign keys can only reference a unique key, on the partitioned table that includes user_id;
+-- revisions and archived content are removed with their note by a trigger instead
+CREATE FUNCTION notes_delete_dependents() RETURNS trigger AS $$
+BEGIN
+    DELETE FROM note_revisions WHERE note_id = OLD.id;
+    DELETE FROM notes_archive WHERE note_id = OLD.id;
+    RETURN NULL;
+END $$ LANGUAGE plpgsql;
+
+DO $$
+BEGIN
+    LOCK TABLE notes IN ACCESS EXCLUSIVE MODE;
+    DROP TRIGGER notes_mirror ON notes;
+    ALTER TABLE note_revisions DROP CONSTRAINT fk_note_revisions_note_id;
+    ALTER TABLE notes_archive DROP CONSTRAINT fk_notes_archive_note_id;
+    DROP TABLE notes;
+    ALTER TABLE notes_p RENAME TO notes;
+    ALTER TABLE notes RENAME CONSTRAINT pk_notes_p TO pk_notes_id;
+    ALTER TABLE notes RENAME CONSTRAINT fk_notes_p_user_id TO fk_notes_user_id;
+    ALTER TABLE notes RENAME CONSTRAINT notes_p_content_present TO notes_content_present;
+    ALTER INDEX note_p_user_idx RENAME TO note_user_idx;
+    ALTER INDEX note_p_archive_candidates_idx RENAME TO note_archive_candidates_idx;
+    CREATE TRIGGER notes_delete_dependents AFTER DELETE ON notes
+        FOR EACH ROW EXECUTE FUNCTION notes_delete_dependents();
+END $$;
+
+DROP FUNCTION notes_mirror();
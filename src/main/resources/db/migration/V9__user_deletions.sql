@@ -0,0 +1,15 @@
+-- deleting an account only sets deleted_at, which locks the user out at once;
+-- the notes are purged in chunks afterwards and the users row goes last
+ALTER TABLE users ADD COLUMN deleted_at TIMESTAMP;
+
+-- progress of every deletion, kept after the users row is gone (hence no foreign key)
+CREATE TABLE IF NOT EXISTS user_deletions (
+    user_id BIGINT,
+    requested_at TIMESTAMP NOT NULL,
+    notes_total BIGINT NOT NULL,
+    notes_purged BIGINT NOT NULL DEFAULT 0,
+    completed_at TIMESTAMP,
+    CONSTRAINT pk_user_deletions_user_id PRIMARY KEY (user_id)
+);
+
+CREATE INDEX user_deletions_pending_idx ON user_deletions (requested_at) WHERE completed_at IS NULL;
@@ -0,0 +1,19 @@
+package com.example.notemanager.perf;
+
+/**
+ * What {@link DatasetGenerator} loaded. Users are identified by rank, rank 1 owns the most notes.
+ */
+public record Dataset(DatasetSpec spec, long firstUserId, long[] notesPerRank) {
+
+    public static String userName(int rank) {
+        return "perf-user-" + rank;
+    }
+
+    public long userId(int rank) {
+        return firstUserId + rank - 1;
+    }
+
+    public long notesOf(int rank) {
+        return notesPerRank[rank - 1];
+    }
+}
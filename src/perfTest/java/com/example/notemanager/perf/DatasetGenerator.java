@@ -0,0 +1,154 @@
+package com.example.notemanager.perf;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+
+/**
+ * Loads a synthetic dataset with {@code COPY}: users named {@code perf-user-<rank>} (all with the password
+ * {@link #PASSWORD}) and notes spread over them by a Zipf distribution, with log-normal content lengths
+ * and words drawn from a small vocabulary that is itself Zipf-distributed. Everything derives from
+ * {@link DatasetSpec#seed()}, so two loads of the same spec are identical.
+ */
+public class DatasetGenerator {
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    public static final String PASSWORD = "password";
+    // ordered by frequency, the first words occur in most notes, the last ones in very few
+    static final String[] VOCABULARY = {
+            "the", "cat", "and", "nap", "sun", "a", "bowl", "window", "of", "purr",
+            "bird", "sofa", "dinner", "box", "morning", "blanket", "tuna", "garden", "paw", "treat",
+            "evening", "mouse", "yarn", "scratch", "whisker", "laser", "dot", "chase", "stretch", "yawn",
+            "curtain", "shelf", "vase", "neighbour", "dog", "rain", "thunder", "vet", "carrier", "brush",
+            "catnip", "feather", "wand", "tower", "radiator", "laundry", "basket", "keyboard", "printer", "moth",
+            "pigeon", "squirrel", "hedge", "puddle", "salmon", "sardine", "cream", "butter", "cucumber", "vacuum"
+    };
+    private static final int PREVIEW_LENGTH = 200;
+    private static final int FLUSH_BYTES = 1 << 16;
+
+    private final DatasetSpec spec;
+
+    public DatasetGenerator(DatasetSpec spec) {
+        this.spec = spec;
+    }
+
+    public Dataset load(Connection connection) throws SQLException {
+        long start = System.nanoTime();
+        long firstUserId = nextId(connection, "users");
+        long firstNoteId = nextId(connection, "notes");
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+        copyUsers(copyManager, firstUserId);
+        long[] notesPerRank = copyNotes(copyManager, firstUserId, firstNoteId);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT setval('seq_users_id', " + (firstUserId + spec.users() - 1) + ")");
+            statement.execute("SELECT setval('seq_notes_id', " + (firstNoteId + spec.notes() - 1) + ")");
+            statement.execute("ANALYZE users");
+            statement.execute("ANALYZE notes");
+        }
+        log.info("Loaded {} users and {} notes in {} s, the heaviest user owns {} notes", spec.users(),
+                spec.notes(), (System.nanoTime() - start) / 1_000_000_000, notesPerRank[0]);
+        return new Dataset(spec, firstUserId, notesPerRank);
+    }
+
+    private void copyUsers(CopyManager copyManager, long firstUserId) throws SQLException {
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        CopyIn copy = copyManager.copyIn("COPY users (id, username, password, role, failed_attempts) FROM STDIN");
+        StringBuilder rows = new StringBuilder();
+        for (int rank = 1; rank <= spec.users(); rank++) {
+            rows.append(firstUserId + rank - 1).append('\t')
+                    .append(Dataset.userName(rank)).append('\t')
+                    .append(hash).append("\tROLE_USER\t0\n");
+            flushIfFull(copy, rows);
+        }
+        finish(copy, rows);
+    }
+
+    private long[] copyNotes(CopyManager copyManager, long firstUserId, long firstNoteId) throws SQLException {
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        ZipfDistribution owners = new ZipfDistribution(spec.users(), spec.zipfExponent());
+        ZipfDistribution words = new ZipfDistribution(VOCABULARY.length, 1.0);
+        long[] notesPerRank = new long[spec.users()];
+        CopyIn copy = copyManager.copyIn("COPY notes (id, title, content, user_id, preview, content_length, version) "
+                + "FROM STDIN");
+        StringBuilder rows = new StringBuilder();
+        for (long i = 0; i < spec.notes(); i++) {
+            int rank = owners.sample(random);
+            notesPerRank[rank - 1]++;
+            String title = title(random, words);
+            String content = content(random, words, contentLength(random));
+            rows.append(firstNoteId + i).append('\t')
+                    .append(title).append('\t')
+                    .append(escape(content)).append('\t')
+                    .append(firstUserId + rank - 1).append('\t')
+                    .append(escape(content.substring(0, Math.min(PREVIEW_LENGTH, content.length())))).append('\t')
+                    .append(content.length()).append("\t0\n");
+            flushIfFull(copy, rows);
+            if ((i + 1) % 1_000_000 == 0) {
+                log.info("{} of {} notes copied", i + 1, spec.notes());
+            }
+        }
+        finish(copy, rows);
+        return notesPerRank;
+    }
+
+    private int contentLength(SplittableRandom random) {
+        double length = spec.medianContentLength() * Math.exp(spec.contentLengthSigma() * random.nextGaussian());
+        return (int) Math.max(1, Math.min(spec.maxContentLength(), length));
+    }
+
+    private static String title(SplittableRandom random, ZipfDistribution words) {
+        StringBuilder title = new StringBuilder(VOCABULARY[words.sample(random) - 1]);
+        for (int count = 2 + random.nextInt(6); count > 1; count--) {
+            title.append(' ').append(VOCABULARY[words.sample(random) - 1]);
+        }
+        return title.toString();
+    }
+
+    // words until the length is reached, with a paragraph break now and then
+    private static String content(SplittableRandom random, ZipfDistribution words, int length) {
+        StringBuilder content = new StringBuilder(length + 16);
+        content.append(VOCABULARY[words.sample(random) - 1]);
+        while (content.length() < length) {
+            content.append(random.nextInt(40) == 0 ? '\n' : ' ').append(VOCABULARY[words.sample(random) - 1]);
+        }
+        return content.substring(0, length);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\n", "\\n");
+    }
+
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static void flushIfFull(CopyIn copy, StringBuilder rows) throws SQLException {
+        if (rows.length() >= FLUSH_BYTES) {
+            byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            rows.setLength(0);
+        }
+    }
+
+    private static void finish(CopyIn copy, StringBuilder rows) throws SQLException {
+        byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        copy.endCopy();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.notemanager.perf;
+
+/**
+ * Shape of the generated dataset. The same spec always produces the same rows.
+ *
+ * @param seed                every random choice derives from it
+ * @param users               number of users, ranked by how many notes they own
+ * @param notes               total number of notes
+ * @param zipfExponent        skew of notes over users: the user of rank {@code k} owns notes in proportion to
+ *                            {@code 1 / k^zipfExponent}
+ * @param medianContentLength content lengths are log-normal around this median
+ * @param contentLengthSigma  spread of the log-normal, 1.0 puts a few percent of notes above ten times the median
+ * @param maxContentLength    upper bound of a single note
+ */
+public record DatasetSpec(long seed,
+                          int users,
+                          long notes,
+                          double zipfExponent,
+                          int medianContentLength,
+                          double contentLengthSigma,
+                          int maxContentLength) {
+
+    public static DatasetSpec fromSystemProperties() {
+        return new DatasetSpec(
+                Long.getLong("perf.seed", 42),
+                Integer.getInteger("perf.users", 10_000),
+                Long.getLong("perf.notes", 1_000_000),
+                Double.parseDouble(System.getProperty("perf.zipf-exponent", "1.1")),
+                Integer.getInteger("perf.median-content-length", 300),
+                Double.parseDouble(System.getProperty("perf.content-length-sigma", "1.0")),
+                Integer.getInteger("perf.max-content-length", 100_000));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.notemanager.perf;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Latencies of one operation, recorded in nanoseconds.
+ */
+final class Latencies {
+    private long[] nanos = new long[256];
+    private int count;
+
+    void record(long elapsedNanos) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = elapsedNanos;
+    }
+
+    Duration percentile(double percentile) {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        return Duration.ofNanos(sorted[Math.max(0, index)]);
+    }
+
+    int count() {
+        return count;
+    }
+
+    String summary() {
+        return String.format("n=%d p50=%dms p95=%dms p99=%dms max=%dms", count,
+                percentile(50).toMillis(), percentile(95).toMillis(), percentile(99).toMillis(),
+                percentile(100).toMillis());
+    }
+}
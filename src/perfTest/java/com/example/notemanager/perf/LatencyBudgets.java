@@ -0,0 +1,53 @@
+package com.example.notemanager.perf;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Budgets from {@code perf-budgets.properties}, each can be overridden by a system property of the same name.
+ */
+final class LatencyBudgets {
+    private static final String PREFIX = "perf.budget.";
+
+    private final Properties budgets;
+
+    private LatencyBudgets(Properties budgets) {
+        this.budgets = budgets;
+    }
+
+    static LatencyBudgets load() {
+        Properties budgets = new Properties();
+        try (InputStream in = LatencyBudgets.class.getResourceAsStream("/perf-budgets.properties")) {
+            if (in != null) {
+                budgets.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(PREFIX))
+                .forEach(name -> budgets.setProperty(name, System.getProperty(name)));
+        return new LatencyBudgets(budgets);
+    }
+
+    /**
+     * @return the budget of every percentile configured for the operation, e.g. {@code 95.0 -> 150ms}
+     */
+    Map<Double, Duration> of(String operation) {
+        Map<Double, Duration> result = new LinkedHashMap<>();
+        for (String percentile : new String[]{"p50", "p95", "p99"}) {
+            String value = budgets.getProperty(PREFIX + operation + "." + percentile);
+            if (value != null) {
+                result.put(Double.parseDouble(percentile.substring(1)), DurationStyle.detectAndParse(value));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.notemanager.perf;
+
+import com.example.notemanager.api.model.dto.request.NoteCreateRequest;
+import com.example.notemanager.api.model.dto.request.NoteUpdateRequest;
+import com.example.notemanager.integration.base.BaseIT;
+import com.example.notemanager.integration.config.TestcontainersConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads the dataset described by the {@code perf.*} system properties once, then measures every operation
+ * through the API for the heaviest user and for a typical one and checks the percentiles against
+ * {@link LatencyBudgets}. The per-user queries are also timed against an unpartitioned copy of the notes
+ * table, partitioning must not make them slower by more than {@code perf.partitioning.tolerance}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NoteLatencyPerfTest extends BaseIT {
+    private static final Logger log = LoggerFactory.getLogger(NoteLatencyPerfTest.class);
+    private static final int WARMUP = Integer.getInteger("perf.warmup", 20);
+    private static final int ITERATIONS = Integer.getInteger("perf.iterations", 200);
+    private static final int PAGE_SIZE = 20;
+    // a frequent and a rare word of the generated text
+    private static final String[] KEYWORDS = {"tuna", "vacuum"};
+    private static final String UNPARTITIONED = "notes_unpartitioned";
+    private static final double PARTITIONING_TOLERANCE =
+            Double.parseDouble(System.getProperty("perf.partitioning.tolerance", "0.25"));
+
+    enum Persona {
+        HEAVY, TYPICAL
+    }
+
+    // what the repository sends for a page of the list, a page of the search and the total
+    enum UserQuery {
+        LIST("SELECT id, title, preview, content_length, version FROM %s WHERE user_id = ? OFFSET ? LIMIT "
+                + PAGE_SIZE),
+        SEARCH("SELECT id, title, preview, content_length, version FROM %s WHERE user_id = ? "
+                + "AND (lower(title) LIKE ? OR lower(content) LIKE ?) LIMIT " + PAGE_SIZE),
+        COUNT("SELECT count(*) FROM %s WHERE user_id = ?");
+
+        private final String sql;
+
+        UserQuery(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    private final LatencyBudgets budgets = LatencyBudgets.load();
+    private final Map<Persona, HttpHeaders> authHeaders = new EnumMap<>(Persona.class);
+    private final Map<Persona, List<Long>> noteIds = new EnumMap<>(Persona.class);
+    private Dataset dataset;
+
+    @BeforeAll
+    void loadDataset() throws SQLException {
+        try (Connection connection = connect()) {
+            dataset = new DatasetGenerator(DatasetSpec.fromSystemProperties()).load(connection);
+            for (Persona persona : Persona.values()) {
+                noteIds.put(persona, noteIds(connection, dataset.userId(rank(persona))));
+            }
+            copyUnpartitioned(connection);
+        }
+        for (Persona persona : Persona.values()) {
+            authHeaders.put(persona, signupAndLogin(Dataset.userName(rank(persona)), DatasetGenerator.PASSWORD));
+            log.info("{} user: rank {} with {} notes", persona, rank(persona), dataset.notesOf(rank(persona)));
+        }
+    }
+
+    @AfterAll
+    void dropUnpartitioned() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + UNPARTITIONED);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Persona.class)
+    void list(Persona persona) {
+        int pages = pages(persona);
+        measure("list", persona, i -> get("/notes?page=" + (i % pages) + "&size=" + PAGE_SIZE, persona));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Persona.class)
+    void search(Persona persona) {
+        measure("search", persona, i -> get("/notes/search?keyword=" + KEYWORDS[i % KEYWORDS.length]
+                + "&size=" + PAGE_SIZE, persona));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Persona.class)
+    void get(Persona persona) {
+        List<Long> ids = noteIds.get(persona);
+        if (ids.isEmpty()) {
+            return;
+        }
+        measure("get", persona, i -> get("/notes/" + ids.get(i % ids.size()), persona));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Persona.class)
+    void create(Persona persona) {
+        measure("create", persona, i -> restTemplate.postForEntity(url("/notes"),
+                new HttpEntity<>(new NoteCreateRequest("Perf " + i, "Written by the latency test " + i),
+                        authHeaders.get(persona)), String.class));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Persona.class)
+    void update(Persona persona) {
+        List<Long> ids = noteIds.get(persona);
+        if (ids.isEmpty()) {
+            return;
+        }
+        measure("update", persona, i -> restTemplate.exchange(url("/notes/" + ids.get(i % ids.size())),
+                HttpMethod.PUT, new HttpEntity<>(new NoteUpdateRequest("Perf " + i, "Updated by the latency test " + i),
+                        authHeaders.get(persona)), String.class));
+    }
+
+    // the application only knows the partitioned table, both are queried over JDBC, taking turns
+    @ParameterizedTest
+    @EnumSource(Persona.class)
+    void partitioning(Persona persona) throws SQLException {
+        long userId = dataset.userId(rank(persona));
+        int pages = pages(persona);
+        try (Connection connection = connect()) {
+            for (UserQuery query : UserQuery.values()) {
+                Latencies partitioned = new Latencies();
+                Latencies unpartitioned = new Latencies();
+                try (PreparedStatement onPartitions = connection.prepareStatement(query.sql.formatted("notes"));
+                     PreparedStatement onTable = connection.prepareStatement(query.sql.formatted(UNPARTITIONED))) {
+                    for (int i = 0; i < WARMUP + ITERATIONS; i++) {
+                        long partitionedNanos = execute(onPartitions, query, userId, i, pages);
+                        long unpartitionedNanos = execute(onTable, query, userId, i, pages);
+                        if (i >= WARMUP) {
+                            partitioned.record(partitionedNanos);
+                            unpartitioned.record(unpartitionedNanos);
+                        }
+                    }
+                }
+                log.info("{} {}: partitioned {}, unpartitioned {}", query, persona, micros(partitioned),
+                        micros(unpartitioned));
+                assertThat(partitioned.percentile(95))
+                        .as("p95 of %s for the %s user on the partitioned table", query, persona)
+                        .isLessThanOrEqualTo(Duration.ofNanos(
+                                (long) (unpartitioned.percentile(95).toNanos() * (1 + PARTITIONING_TOLERANCE)))
+                                // below a millisecond the difference is noise
+                                .plusMillis(1));
+            }
+        }
+    }
+
+    private void measure(String operation, Persona persona, IntFunction<ResponseEntity<String>> call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.apply(i);
+        }
+        Latencies latencies = new Latencies();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            ResponseEntity<String> response = call.apply(WARMUP + i);
+            latencies.record(System.nanoTime() - start);
+            assertThat(response.getStatusCode().is2xxSuccessful())
+                    .as("%s %s: %s", operation, persona, response.getStatusCode()).isTrue();
+        }
+        log.info("{} {}: {}", operation, persona, latencies.summary());
+        for (Map.Entry<Double, Duration> budget : budgets.of(operation).entrySet()) {
+            assertThat(latencies.percentile(budget.getKey()))
+                    .as("p%s of %s for the %s user", budget.getKey(), operation, persona)
+                    .isLessThanOrEqualTo(budget.getValue());
+        }
+    }
+
+    private static long execute(PreparedStatement statement, UserQuery query, long userId, int i, int pages)
+            throws SQLException {
+        statement.setLong(1, userId);
+        switch (query) {
+            case LIST -> statement.setInt(2, (i % pages) * PAGE_SIZE);
+            case SEARCH -> {
+                String pattern = "%" + KEYWORDS[i % KEYWORDS.length] + "%";
+                statement.setString(2, pattern);
+                statement.setString(3, pattern);
+            }
+            case COUNT -> {
+            }
+        }
+        long start = System.nanoTime();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                resultSet.getLong(1);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static String micros(Latencies latencies) {
+        return String.format("p50=%dus p95=%dus p99=%dus", latencies.percentile(50).toNanos() / 1000,
+                latencies.percentile(95).toNanos() / 1000, latencies.percentile(99).toNanos() / 1000);
+    }
+
+    // the notes table as it was before V8: one heap with the primary key and the user index
+    private static void copyUnpartitioned(Connection connection) throws SQLException {
+        long start = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + UNPARTITIONED + " (LIKE notes INCLUDING DEFAULTS)");
+            statement.execute("INSERT INTO " + UNPARTITIONED + " SELECT * FROM notes");
+            statement.execute("ALTER TABLE " + UNPARTITIONED + " ADD PRIMARY KEY (id)");
+            statement.execute("CREATE INDEX ON " + UNPARTITIONED + " (user_id)");
+            statement.execute("ANALYZE " + UNPARTITIONED);
+        }
+        log.info("Copied the notes to {} in {} s", UNPARTITIONED, (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    private static Connection connect() throws SQLException {
+        PostgreSQLContainer<?> postgres = TestcontainersConfig.postgreSQLContainer;
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    private int pages(Persona persona) {
+        return (int) Math.max(1, Math.min(500, dataset.notesOf(rank(persona)) / PAGE_SIZE));
+    }
+
+    private int rank(Persona persona) {
+        return persona == Persona.HEAVY ? 1 : Math.max(1, dataset.spec().users() / 2);
+    }
+
+    private ResponseEntity<String> get(String path, Persona persona) {
+        return restTemplate.exchange(url(path), HttpMethod.GET, new HttpEntity<Void>(authHeaders.get(persona)),
+                String.class);
+    }
+
+    private String url(String path) {
+        return SERVER_BASE_URL + port + API_BASE_URL + path;
+    }
+
+    // a reproducible sample of the user's notes, the same for the same seed
+    private List<Long> noteIds(Connection connection, long userId) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id FROM notes WHERE user_id = ? ORDER BY id")) {
+            statement.setLong(1, userId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong(1));
+                }
+            }
+        }
+        SplittableRandom random = new SplittableRandom(dataset.spec().seed());
+        List<Long> sample = new ArrayList<>();
+        for (int i = 0; i < Math.min(1000, ids.size()); i++) {
+            sample.add(ids.get(random.nextInt(ids.size())));
+        }
+        return sample;
+    }
+}
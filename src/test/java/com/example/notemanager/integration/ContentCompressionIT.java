@@ -0,0 +1,46 @@
+package com.example.notemanager.integration;
+
+import com.example.notemanager.integration.base.BaseIT;
+import com.example.notemanager.repository.NoteRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {
+        "notes.content.compression.enabled=true",
+        "notes.content.compression.min-length=100"
+})
+class ContentCompressionIT extends BaseIT {
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Test
+    void keywordSearchMatchesTheContentOfCompressedNotes() {
+        HttpHeaders authHeaders = signupAndLogin("compressed-search", "password");
+        String longContent = "Shopping list for the week. ".repeat(10) + "Do not forget the Tuna. ";
+        createNote("Groceries", longContent, authHeaders);
+        createNote("Errands", "Post office", authHeaders);
+        long id = get("/notes/search?keyword=groceries&fields=id", authHeaders).getBody()
+                .get("content").get(0).get("id").asLong();
+        assertThat(noteRepository.sumCompressedContentBytes(List.of(id))).isPositive();
+
+        JsonNode found = get("/notes/search?keyword=tuna", authHeaders).getBody();
+        assertThat(found.get("page").get("totalElements").asInt()).isEqualTo(1);
+        assertThat(found.get("content").get(0).get("title").asText()).isEqualTo("Groceries");
+        JsonNode full = get("/notes/search?keyword=tuna&full=true", authHeaders).getBody().get("content").get(0);
+        assertThat(full.get("content").asText()).isEqualTo(longContent);
+        JsonNode fields = get("/notes/search?keyword=tuna&fields=id,title", authHeaders).getBody();
+        assertThat(fields.get("content").get(0).get("title").asText()).isEqualTo("Groceries");
+
+        JsonNode plain = get("/notes/search?keyword=office", authHeaders).getBody();
+        assertThat(plain.get("page").get("totalElements").asInt()).isEqualTo(1);
+        assertThat(plain.get("content").get(0).get("title").asText()).isEqualTo("Errands");
+    }
+}
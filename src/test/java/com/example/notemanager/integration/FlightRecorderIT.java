@@ -0,0 +1,107 @@
+package com.example.notemanager.integration;
+
+import com.example.notemanager.integration.base.BaseIT;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {
+        "notes.jfr.continuous=false",
+        "notes.jfr.request-threshold=0ms",
+        "notes.jfr.operation-threshold=0ms",
+        "notes.jfr.dump-directory=" + FlightRecorderIT.DUMPS
+})
+class FlightRecorderIT extends BaseIT {
+    static final String DUMPS = "build/jfr-dumps-it";
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void recordingStartedThroughTheEndpointHoldsTheEventsOfTheHotPaths() throws IOException, InterruptedException {
+        String recordingUrl = SERVER_BASE_URL + managementPort + "/actuator/jfr/it";
+        ResponseEntity<String> startResponse = restTemplate.postForEntity(recordingUrl + "/start", null, String.class);
+        assertThat(startResponse.getStatusCode().value()).isEqualTo(HttpStatus.OK.value());
+
+        HttpHeaders authHeaders = signupAndLogin("recorded", "password");
+        restTemplate.exchange(SERVER_BASE_URL + port + API_BASE_URL + "/notes",
+                HttpMethod.GET, new HttpEntity<Void>(authHeaders), String.class);
+
+        ResponseEntity<byte[]> dumpResponse = restTemplate.getForEntity(recordingUrl, byte[].class);
+        assertThat(dumpResponse.getStatusCode().value()).isEqualTo(HttpStatus.OK.value());
+        Path dump = Files.write(tempDir.resolve("it.jfr"), dumpResponse.getBody());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("notes.Request");
+            assertThat(event.getString("endpoint")).isEqualTo("GET /api/v1/notes");
+            assertThat(event.getString("user")).isEqualTo("recorded");
+            assertThat(event.getInt("status")).isEqualTo(HttpStatus.OK.value());
+        });
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("notes.PasswordCheck");
+            assertThat(event.getString("user")).isEqualTo("recorded");
+            assertThat(event.getBoolean("matches")).isTrue();
+        });
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("notes.JwtVerification");
+            assertThat(event.getString("endpoint")).isEqualTo("GET /api/v1/notes");
+            assertThat(event.getBoolean("valid")).isTrue();
+        });
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("notes.UserCacheLookup");
+            assertThat(event.getString("user")).isEqualTo("recorded");
+        });
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("notes.RepositoryCall");
+            assertThat(event.getString("repository")).isEqualTo("UserRepository");
+            assertThat(event.getString("method")).isEqualTo("findByUserName");
+        });
+
+        // the file behind the download is deleted once the response is written
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!dumpFiles().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(dumpFiles()).isEmpty();
+
+        restTemplate.delete(recordingUrl);
+        assertThat(restTemplate.getForEntity(recordingUrl, byte[].class).getStatusCode().value())
+                .isEqualTo(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    void recordingNameThatIsNoPlainWordIsRejected() {
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                SERVER_BASE_URL + managementPort + "/actuator/jfr/escaped.jfr/start", null, String.class);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(restTemplate.getForObject(SERVER_BASE_URL + managementPort + "/actuator/jfr", String.class))
+                .doesNotContain("escaped");
+    }
+
+    private static List<Path> dumpFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(DUMPS))) {
+            return files.filter(file -> file.toString().endsWith(".jfr")).toList();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.notemanager.integration;
+
+import com.example.notemanager.integration.base.BaseIT;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsIT extends BaseIT {
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void prometheusEndpointExposesTheHotPathTimersWithoutAToken() {
+        HttpHeaders authHeaders = signupAndLogin("scraped", "password");
+        createNote("Metrics", "Counted", authHeaders);
+        restTemplate.exchange(SERVER_BASE_URL + port + API_BASE_URL + "/notes",
+                HttpMethod.GET, new HttpEntity<Void>(authHeaders), String.class);
+
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                SERVER_BASE_URL + managementPort + "/actuator/prometheus", String.class);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getBody())
+                .contains("http_server_requests_seconds_bucket")
+                .contains("notes_service_seconds{", "operation=\"create\"", "operation=\"list\"")
+                .contains("notes_auth_password_seconds", "notes_auth_jwt_seconds")
+                .contains("cache_gets_total{cache=\"userCache\"", "cache_hit_ratio{cache=\"userCache\"")
+                .contains("hikaricp_connections_active{pool=\"write\"");
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.notemanager.integration;
+
+import com.example.notemanager.api.model.dto.request.NoteUpdateRequest;
+import com.example.notemanager.integration.base.BaseIT;
+import com.example.notemanager.repository.ArchivedNoteContentRepository;
+import com.example.notemanager.repository.NoteRepository;
+import com.example.notemanager.service.NoteArchiveService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the autosave buffer is always full, autosaves are written right away
+@TestPropertySource(properties = {
+        "notes.autosave.enabled=true",
+        "notes.autosave.max-pending=0"
+})
+class NoteArchiveIT extends BaseIT {
+
+    @Autowired
+    private NoteArchiveService noteArchiveService;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private ArchivedNoteContentRepository archivedNoteContentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void archivedNotesKeepTheirPreviewAndAreRestoredWhenRead() {
+        HttpHeaders authHeaders = signupAndLogin("archivist", "password");
+        createNote("Old", "Written long ago", authHeaders);
+        long id = get("/notes?fields=id", authHeaders).getBody().get("content").get(0).get("id").asLong();
+
+        Integer archived = new TransactionTemplate(transactionManager).execute(status ->
+                noteArchiveService.archiveBatch(LocalDateTime.now().plusMinutes(1), 1000));
+
+        assertThat(archived).isPositive();
+        assertThat(noteRepository.findById(id).orElseThrow().isArchived()).isTrue();
+        JsonNode listed = get("/notes", authHeaders).getBody().get("content").get(0);
+        assertThat(listed.get("preview").asText()).isEqualTo("Written long ago");
+        JsonNode fullList = get("/notes?full=true", authHeaders).getBody().get("content").get(0);
+        assertThat(fullList.get("content").asText()).isEqualTo("Written long ago");
+
+        JsonNode note = get("/notes/" + id, authHeaders).getBody();
+
+        assertThat(note.get("content").asText()).isEqualTo("Written long ago");
+        assertThat(noteRepository.findById(id).orElseThrow().isArchived()).isFalse();
+    }
+
+    @Test
+    void autosaveOfAnArchivedNoteIsKeptWhenTheBufferIsFull() {
+        HttpHeaders authHeaders = signupAndLogin("archivist-autosave", "password");
+        createNote("Old", "Written long ago", authHeaders);
+        long id = get("/notes?fields=id", authHeaders).getBody().get("content").get(0).get("id").asLong();
+        new TransactionTemplate(transactionManager).execute(status ->
+                noteArchiveService.archiveBatch(LocalDateTime.now().plusMinutes(1), 1000));
+        assertThat(noteRepository.findById(id).orElseThrow().isArchived()).isTrue();
+
+        ResponseEntity<Void> autosave = restTemplate.exchange(
+                SERVER_BASE_URL + port + API_BASE_URL + "/notes/" + id + "/autosave", HttpMethod.PUT,
+                new HttpEntity<>(new NoteUpdateRequest("Old", "Rewritten today"), authHeaders), Void.class);
+        assertThat(autosave.getStatusCode().value()).isEqualTo(HttpStatus.ACCEPTED.value());
+
+        assertThat(noteRepository.findById(id).orElseThrow().isArchived()).isFalse();
+        assertThat(archivedNoteContentRepository.existsById(id)).isFalse();
+        JsonNode note = get("/notes/" + id, authHeaders).getBody();
+        assertThat(note.get("content").asText()).isEqualTo("Rewritten today");
+    }
+}
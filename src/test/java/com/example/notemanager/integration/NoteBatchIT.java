@@ -0,0 +1,83 @@
+package com.example.notemanager.integration;
+
+import com.example.notemanager.api.model.dto.request.NoteBatchOperationRequest;
+import com.example.notemanager.api.model.dto.request.NoteBatchRequest;
+import com.example.notemanager.api.model.dto.response.NoteBatchItemResponse;
+import com.example.notemanager.api.model.dto.response.NoteBatchResponse;
+import com.example.notemanager.integration.base.BaseIT;
+import com.example.notemanager.service.NoteOperation;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NoteBatchIT extends BaseIT {
+
+    @Test
+    void mixedOperationsReportTheirOwnStatus() {
+        HttpHeaders authHeaders = signupAndLogin("batcher", "password");
+        List<NoteBatchItemResponse> created = batch(authHeaders, List.of(
+                new NoteBatchOperationRequest(NoteOperation.Type.CREATE, null, "First", "one"),
+                new NoteBatchOperationRequest(NoteOperation.Type.CREATE, null, "Second", "two"),
+                new NoteBatchOperationRequest(NoteOperation.Type.CREATE, null, "", "no title")
+        )).getBody().results();
+        assertThat(created).extracting(NoteBatchItemResponse::status).containsExactly(201, 201, 400);
+        Long first = created.get(0).id();
+        Long second = created.get(1).id();
+
+        List<NoteBatchItemResponse> results = batch(authHeaders, List.of(
+                new NoteBatchOperationRequest(NoteOperation.Type.UPDATE, first, "First", "one, edited"),
+                new NoteBatchOperationRequest(NoteOperation.Type.DELETE, second, null, null),
+                new NoteBatchOperationRequest(NoteOperation.Type.GET, 999_999L, null, null)
+        )).getBody().results();
+        assertThat(results).extracting(NoteBatchItemResponse::status).containsExactly(200, 204, 404);
+        assertThat(results.get(0).note().content()).isEqualTo("one, edited");
+
+        List<NoteBatchItemResponse> reads = batch(authHeaders, List.of(
+                new NoteBatchOperationRequest(NoteOperation.Type.GET, first, null, null),
+                new NoteBatchOperationRequest(NoteOperation.Type.GET, second, null, null)
+        )).getBody().results();
+        assertThat(reads).extracting(NoteBatchItemResponse::status).containsExactly(200, 404);
+        assertThat(reads.get(0).note().content()).isEqualTo("one, edited");
+    }
+
+    @Test
+    void notesOfOtherUsersAreNotFound() {
+        HttpHeaders owner = signupAndLogin("batch-owner", "password");
+        Long id = batch(owner, List.of(new NoteBatchOperationRequest(NoteOperation.Type.CREATE, null, "Mine", "secret")))
+                .getBody().results().get(0).id();
+
+        HttpHeaders intruder = signupAndLogin("batch-intruder", "password");
+        List<NoteBatchItemResponse> results = batch(intruder, List.of(
+                new NoteBatchOperationRequest(NoteOperation.Type.GET, id, null, null),
+                new NoteBatchOperationRequest(NoteOperation.Type.DELETE, id + 1, null, null)
+        )).getBody().results();
+
+        assertThat(results).extracting(NoteBatchItemResponse::status).containsExactly(404, 404);
+    }
+
+    @Test
+    void oversizedOrAmbiguousBatchesAreRejected() {
+        HttpHeaders authHeaders = signupAndLogin("batch-greedy", "password");
+
+        ResponseEntity<NoteBatchResponse> tooMany = batch(authHeaders, Collections.nCopies(101,
+                new NoteBatchOperationRequest(NoteOperation.Type.CREATE, null, "Spam", "spam")));
+        ResponseEntity<NoteBatchResponse> sameId = batch(authHeaders, List.of(
+                new NoteBatchOperationRequest(NoteOperation.Type.GET, 1L, null, null),
+                new NoteBatchOperationRequest(NoteOperation.Type.DELETE, 1L, null, null)));
+
+        assertThat(tooMany.getStatusCode().value()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(sameId.getStatusCode().value()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
+    private ResponseEntity<NoteBatchResponse> batch(HttpHeaders authHeaders, List<NoteBatchOperationRequest> operations) {
+        return restTemplate.postForEntity(SERVER_BASE_URL + port + API_BASE_URL + "/notes:batch",
+                new HttpEntity<>(new NoteBatchRequest(operations), authHeaders), NoteBatchResponse.class);
+    }
+}
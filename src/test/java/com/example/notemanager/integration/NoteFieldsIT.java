@@ -0,0 +1,77 @@
+package com.example.notemanager.integration;
+
+import com.example.notemanager.api.model.dto.request.NoteUpdateRequest;
+import com.example.notemanager.integration.base.BaseIT;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// autosaves stay buffered for the whole test
+@TestPropertySource(properties = {
+        "notes.autosave.enabled=true",
+        "notes.autosave.quiet-period=1h",
+        "notes.autosave.max-delay=1h"
+})
+class NoteFieldsIT extends BaseIT {
+
+    @Test
+    void listAndGetReturnOnlyTheRequestedFields() {
+        HttpHeaders authHeaders = signupAndLogin("sidebar", "password");
+        createNote("Groceries", "Tuna, more tuna", authHeaders);
+
+        ResponseEntity<JsonNode> listResponse = get("/notes?fields=id,title", authHeaders);
+        assertThat(listResponse.getStatusCode().value()).isEqualTo(HttpStatus.OK.value());
+        JsonNode note = listResponse.getBody().get("content").get(0);
+        assertThat(note.fieldNames()).toIterable().containsExactly("id", "title");
+        assertThat(note.get("title").asText()).isEqualTo("Groceries");
+
+        ResponseEntity<JsonNode> getResponse = get("/notes/" + note.get("id").asLong() + "?fields=id,version", authHeaders);
+        assertThat(getResponse.getStatusCode().value()).isEqualTo(HttpStatus.OK.value());
+        assertThat(getResponse.getBody().fieldNames()).toIterable().containsExactly("id", "version");
+        assertThat(getResponse.getBody().get("version").asLong()).isZero();
+
+        ResponseEntity<JsonNode> searchResponse = get("/notes/search?keyword=tuna&fields=content", authHeaders);
+        assertThat(searchResponse.getBody().get("content").get(0).get("content").asText()).isEqualTo("Tuna, more tuna");
+    }
+
+    @Test
+    void searchAndFieldsReturnTheBufferedAutosave() {
+        HttpHeaders authHeaders = signupAndLogin("sidebar-autosave", "password");
+        createNote("Groceries", "Tuna, more tuna", authHeaders);
+        long id = get("/notes?fields=id", authHeaders).getBody().get("content").get(0).get("id").asLong();
+
+        ResponseEntity<Void> autosave = restTemplate.exchange(
+                SERVER_BASE_URL + port + API_BASE_URL + "/notes/" + id + "/autosave", HttpMethod.PUT,
+                new HttpEntity<>(new NoteUpdateRequest("Groceries for the cat", "Tuna, more tuna, and cream"),
+                        authHeaders), Void.class);
+        assertThat(autosave.getStatusCode().value()).isEqualTo(HttpStatus.ACCEPTED.value());
+
+        JsonNode searched = get("/notes/search?keyword=tuna", authHeaders).getBody().get("content").get(0);
+        assertThat(searched.get("title").asText()).isEqualTo("Groceries for the cat");
+        JsonNode listed = get("/notes?fields=title,contentLength", authHeaders).getBody().get("content").get(0);
+        assertThat(listed.fieldNames()).toIterable().containsExactly("title", "contentLength");
+        assertThat(listed.get("title").asText()).isEqualTo("Groceries for the cat");
+        assertThat(listed.get("contentLength").asInt()).isEqualTo("Tuna, more tuna, and cream".length());
+        JsonNode searchedFields = get("/notes/search?keyword=tuna&fields=content", authHeaders).getBody()
+                .get("content").get(0);
+        assertThat(searchedFields.get("content").asText()).isEqualTo("Tuna, more tuna, and cream");
+        JsonNode found = get("/notes/" + id + "?fields=preview", authHeaders).getBody();
+        assertThat(found.get("preview").asText()).isEqualTo("Tuna, more tuna, and cream");
+    }
+
+    @Test
+    void unknownFieldIsRejected() {
+        HttpHeaders authHeaders = signupAndLogin("sidebar-typo", "password");
+
+        ResponseEntity<JsonNode> response = get("/notes?fields=id,body", authHeaders);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.notemanager.integration;
+
+import com.example.notemanager.integration.base.BaseIT;
+import com.example.notemanager.integration.base.TestFactory;
+import com.example.notemanager.model.Note;
+import com.example.notemanager.model.User;
+import com.example.notemanager.repository.NoteRepository;
+import com.example.notemanager.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotePartitioningIT extends BaseIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestFactory testFactory;
+
+    @Test
+    @DisplayName("A query scoped by user reads a single partition")
+    void givenPartitionedNotes_whenQueryingByUser_thenOnePartitionIsScanned() {
+        // given
+        Integer partitions = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_inherits WHERE inhparent = 'notes'::regclass", Integer.class);
+
+        // when
+        List<String> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id, title FROM notes WHERE user_id = 42", String.class);
+
+        // then
+        assertThat(partitions).isEqualTo(16);
+        assertThat(plan.stream().filter(line -> line.contains(" on notes_p_")).count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Notes are written, updated and deleted through JPA like before")
+    void givenPartitionedNotes_whenNoteIsUpdatedAndDeleted_thenJpaMappingStillWorks() {
+        // given
+        User user = userRepository.save(testFactory.generateUser("PartitionedOwner", "qwerty", "ROLE_USER", 0, null));
+        Note note = noteRepository.save(
+                Note.builder().title("Sharded").content("Lives in one partition").user(user).build());
+
+        // when
+        Note loaded = noteRepository.findById(note.getId()).orElseThrow();
+        loaded.setTitle("Still sharded");
+        noteRepository.save(loaded);
+
+        // then
+        assertThat(noteRepository.findById(note.getId()).orElseThrow().getTitle()).isEqualTo("Still sharded");
+        noteRepository.deleteById(note.getId());
+        assertThat(noteRepository.findById(note.getId())).isEmpty();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.notemanager.integration;
+
+import com.example.notemanager.api.model.dto.response.NoteResponse;
+import com.example.notemanager.integration.base.BaseIT;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotePatchIT extends BaseIT {
+    // HttpURLConnection can't send PATCH
+    private final TestRestTemplate patchTemplate =
+            new TestRestTemplate(new RestTemplateBuilder().requestFactory(JdkClientHttpRequestFactory.class));
+
+    @Test
+    void appendsAddToTheContentAndMergePatchRenames() {
+        HttpHeaders authHeaders = signupAndLogin("logger", "password");
+        long id = createNoteId("Log", "09:00 woke up", authHeaders);
+
+        ResponseEntity<JsonNode> appended = patch(id, MediaType.valueOf("application/json-patch+json"), """
+                [ { "op": "add", "path": "/content/-", "value": "\\n09:05 fed the cat" } ]""", authHeaders);
+        patch(id, MediaType.valueOf("application/json-patch+json"), """
+                [ { "op": "add", "path": "/content/-", "value": "\\n12:00 nap" } ]""", authHeaders);
+        ResponseEntity<JsonNode> renamed = patch(id, MediaType.valueOf("application/merge-patch+json"), """
+                { "title": "Cat log" }""", authHeaders);
+
+        assertThat(appended.getStatusCode().value()).isEqualTo(HttpStatus.OK.value());
+        assertThat(appended.getBody().get("version").asLong()).isEqualTo(1);
+        assertThat(renamed.getBody().get("title").asText()).isEqualTo("Cat log");
+        assertThat(renamed.getBody().get("version").asLong()).isEqualTo(3);
+
+        String expected = "09:00 woke up\n09:05 fed the cat\n12:00 nap";
+        assertThat(renamed.getBody().get("contentLength").asInt()).isEqualTo(expected.length());
+        assertThat(renamed.getBody().get("preview").asText()).isEqualTo(expected);
+        NoteResponse note = restTemplate.exchange(SERVER_BASE_URL + port + API_BASE_URL + "/notes/" + id,
+                HttpMethod.GET, new HttpEntity<Void>(authHeaders), NoteResponse.class).getBody();
+        assertThat(note.content()).isEqualTo(expected);
+    }
+
+    @Test
+    void unsupportedPathIsRejected() {
+        HttpHeaders authHeaders = signupAndLogin("logger-typo", "password");
+        long id = createNoteId("Log", "09:00 woke up", authHeaders);
+
+        ResponseEntity<JsonNode> response = patch(id, MediaType.valueOf("application/json-patch+json"), """
+                [ { "op": "replace", "path": "/user", "value": "someone else" } ]""", authHeaders);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
+    private long createNoteId(String title, String content, HttpHeaders authHeaders) {
+        createNote(title, content, authHeaders);
+        return get("/notes?fields=id", authHeaders).getBody().get("content").get(0).get("id").asLong();
+    }
+
+    private ResponseEntity<JsonNode> patch(long id, MediaType contentType, String body, HttpHeaders authHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(authHeaders);
+        headers.setContentType(contentType);
+        return patchTemplate.exchange(SERVER_BASE_URL + port + API_BASE_URL + "/notes/" + id,
+                HttpMethod.PATCH, new HttpEntity<>(body, headers), JsonNode.class);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.notemanager.integration;
+
+import com.example.notemanager.api.model.dto.request.NoteUpdateRequest;
+import com.example.notemanager.integration.base.BaseIT;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NoteRevisionIT extends BaseIT {
+
+    @Test
+    void updatesAreKeptAsRevisionsThatRebuildTheirContent() {
+        HttpHeaders authHeaders = signupAndLogin("historian", "password");
+        createNote("Diary", "Monday: rain", authHeaders);
+        long id = get("/notes?fields=id", authHeaders).getBody().get("content").get(0).get("id").asLong();
+
+        put(id, new NoteUpdateRequest("Diary", "Monday: rain\nTuesday: sun"), authHeaders);
+        put(id, new NoteUpdateRequest("Weather diary", "Monday: rain\nTuesday: sun\nWednesday: snow"), authHeaders);
+
+        JsonNode revisions = get("/notes/" + id + "/revisions", authHeaders).getBody().get("content");
+        assertThat(revisions).hasSize(3);
+        assertThat(revisions.get(0).get("revision").asInt()).isEqualTo(3);
+        assertThat(revisions.get(0).get("depth").asInt()).isPositive();
+        assertThat(revisions.get(2).get("depth").asInt()).isZero();
+
+        JsonNode original = get("/notes/" + id + "/revisions/1", authHeaders).getBody();
+        assertThat(original.get("content").asText()).isEqualTo("Monday: rain");
+        JsonNode latest = get("/notes/" + id + "/revisions/3", authHeaders).getBody();
+        assertThat(latest.get("title").asText()).isEqualTo("Weather diary");
+        assertThat(latest.get("content").asText()).isEqualTo("Monday: rain\nTuesday: sun\nWednesday: snow");
+
+        ResponseEntity<JsonNode> missing = get("/notes/" + id + "/revisions/4", authHeaders);
+        assertThat(missing.getStatusCode().value()).isEqualTo(HttpStatus.NOT_FOUND.value());
+    }
+
+    private void put(long id, NoteUpdateRequest request, HttpHeaders authHeaders) {
+        restTemplate.exchange(SERVER_BASE_URL + port + API_BASE_URL + "/notes/" + id,
+                HttpMethod.PUT, new HttpEntity<>(request, authHeaders), Void.class);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.notemanager.integration;
+
+import com.example.notemanager.integration.base.BaseIT;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryCountIT extends BaseIT {
+
+    @Test
+    void listPageIssuesTheSameStatementsForOneNoteAndForAFullPage() {
+        HttpHeaders authHeaders = signupAndLogin("counted", "password");
+        createNote("Note 1", "Note number 1", authHeaders);
+        long singleNote = queryCount(get("/notes?size=20", authHeaders));
+
+        for (int i = 1; i < 20; i++) {
+            createNote("Note " + i, "Note number " + i, authHeaders);
+        }
+        ResponseEntity<JsonNode> fullPage = get("/notes?size=20", authHeaders);
+
+        // user lookup of the JWT filter, page content and count
+        assertThat(singleNote).isLessThanOrEqualTo(3);
+        assertThat(queryCount(fullPage)).isEqualTo(singleNote);
+        assertThat(queryCount(get("/notes?size=20&full=true", authHeaders))).isEqualTo(singleNote);
+    }
+
+    @Test
+    void searchIssuesTheSameStatementsWhateverTheNumberOfMatches() {
+        HttpHeaders authHeaders = signupAndLogin("counted-search", "password");
+        for (int i = 0; i < 15; i++) {
+            createNote("Note " + i, "Note number " + i, authHeaders);
+        }
+
+        long oneMatch = queryCount(get("/notes/search?keyword=number 7&size=20", authHeaders));
+        long allMatch = queryCount(get("/notes/search?keyword=number&size=20", authHeaders));
+
+        assertThat(allMatch).isEqualTo(oneMatch).isLessThanOrEqualTo(3);
+    }
+}
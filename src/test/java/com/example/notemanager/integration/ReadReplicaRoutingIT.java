@@ -0,0 +1,94 @@
+package com.example.notemanager.integration;
+
+import com.example.notemanager.api.model.dto.RestResponsePage;
+import com.example.notemanager.api.model.dto.request.NoteCreateRequest;
+import com.example.notemanager.api.model.dto.response.NoteResponse;
+import com.example.notemanager.integration.base.BaseIT;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against two independent Postgres containers: the primary and a "replica" that only has the schema.
+ * Rows written through the application exist on the primary only, which makes visible where a read was served.
+ */
+class ReadReplicaRoutingIT extends BaseIT {
+    private static final long READ_YOUR_WRITES_WINDOW_MILLIS = 1000;
+
+    static final PostgreSQLContainer<?> replicaContainer = new PostgreSQLContainer<>("postgres:15.0")
+            .withDatabaseName("postgres")
+            .withUsername("postgres")
+            .withPassword("password");
+
+    static {
+        replicaContainer.start();
+        Flyway.configure()
+                .dataSource(replicaContainer.getJdbcUrl(), replicaContainer.getUsername(), replicaContainer.getPassword())
+                .locations("classpath:db/migration")
+                .placeholders(Map.of("notesPartitions", "16", "notesMigrationBatchSize", "5000"))
+                .load()
+                .migrate();
+    }
+
+    @DynamicPropertySource
+    static void configureReplica(DynamicPropertyRegistry registry) {
+        registry.add("notes.datasource.replicas.urls", replicaContainer::getJdbcUrl);
+        registry.add("notes.datasource.replicas.username", replicaContainer::getUsername);
+        registry.add("notes.datasource.replicas.password", replicaContainer::getPassword);
+        registry.add("notes.datasource.replicas.read-your-writes-window", () -> READ_YOUR_WRITES_WINDOW_MILLIS + "ms");
+        registry.add("notes.datasource.replicas.health-check-interval", () -> "200ms");
+    }
+
+    @Test
+    void readsFollowTheUsersWritesThenMoveToTheReplicaAndFailOverWhenItGoesAway() throws InterruptedException {
+        HttpHeaders authHeaders = signupAndLogin("replica-reader", "password");
+
+        HttpEntity<NoteCreateRequest> createNoteEntity =
+                new HttpEntity<>(new NoteCreateRequest("Primary only", "Written to the primary"), authHeaders);
+        ResponseEntity<NoteResponse> createNoteResponse = restTemplate.postForEntity(
+                SERVER_BASE_URL + port + API_BASE_URL + "/notes", createNoteEntity, NoteResponse.class);
+        assertThat(createNoteResponse.getStatusCode().value()).isEqualTo(HttpStatus.CREATED.value());
+
+        // read-your-writes: right after the write the list is served by the primary
+        assertThat(countNotes(authHeaders)).isEqualTo(1);
+
+        // after the window the read goes to the replica, which never saw the note
+        Thread.sleep(READ_YOUR_WRITES_WINDOW_MILLIS + 500);
+        assertThat(countNotes(authHeaders)).isZero();
+
+        // the replica goes away, reads fail over to the primary
+        replicaContainer.stop();
+        long deadline = System.currentTimeMillis() + 10_000;
+        long notes = -1;
+        while (System.currentTimeMillis() < deadline && notes != 1) {
+            Thread.sleep(200);
+            notes = countNotes(authHeaders);
+        }
+        assertThat(notes).isEqualTo(1);
+    }
+
+    private long countNotes(HttpHeaders authHeaders) {
+        ResponseEntity<RestResponsePage<NoteResponse>> response = restTemplate.exchange(
+                SERVER_BASE_URL + port + API_BASE_URL + "/notes",
+                HttpMethod.GET,
+                new HttpEntity<Void>(authHeaders),
+                new ParameterizedTypeReference<RestResponsePage<NoteResponse>>() {}
+        );
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            return -1;
+        }
+        return response.getBody().getContent().size();
+    }
+}
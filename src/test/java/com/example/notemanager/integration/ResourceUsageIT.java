@@ -0,0 +1,62 @@
+package com.example.notemanager.integration;
+
+import com.example.notemanager.integration.base.BaseIT;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Allocation budgets of the request thread for the endpoints that render many notes. Every endpoint is
+ * called once before it is measured, class loading and template caching are not part of the budget.
+ */
+class ResourceUsageIT extends BaseIT {
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    void listAndSearchOfAFullPageStayWithinTheirAllocationBudgets() {
+        HttpHeaders authHeaders = signupAndLogin("allocating", "password");
+        for (int i = 0; i < 20; i++) {
+            createNote("Note " + i, "Note number " + i, authHeaders);
+        }
+
+        get("/notes?size=20", authHeaders);
+        ResponseEntity<JsonNode> list = get("/notes?size=20", authHeaders);
+        get("/notes/search?keyword=number&size=20", authHeaders);
+        ResponseEntity<JsonNode> search = get("/notes/search?keyword=number&size=20", authHeaders);
+
+        assertThat(list.getStatusCode().value()).isEqualTo(HttpStatus.OK.value());
+        assertThat(allocatedBytes(list)).isPositive().isLessThan(8 * MB);
+        assertThat(search.getStatusCode().value()).isEqualTo(HttpStatus.OK.value());
+        assertThat(allocatedBytes(search)).isPositive().isLessThan(8 * MB);
+    }
+
+    @Test
+    void noteListPageStaysWithinItsAllocationBudget() throws IOException, InterruptedException {
+        HttpHeaders authHeaders = signupAndLogin("allocating-page", "password");
+        for (int i = 0; i < 20; i++) {
+            createNote("Note " + i, "Note number " + i, authHeaders);
+        }
+        HttpHeaders sessionHeaders = new HttpHeaders();
+        sessionHeaders.add(HttpHeaders.COOKIE, mvcLogin("allocating-page", "password"));
+
+        exchangePage(sessionHeaders);
+        ResponseEntity<String> page = exchangePage(sessionHeaders);
+
+        assertThat(page.getStatusCode().value()).isEqualTo(HttpStatus.OK.value());
+        assertThat(page.getBody()).contains("Note 19");
+        assertThat(allocatedBytes(page)).isPositive().isLessThan(16 * MB);
+    }
+
+    private ResponseEntity<String> exchangePage(HttpHeaders sessionHeaders) {
+        return restTemplate.exchange(SERVER_BASE_URL + port + "/note/list?size=20",
+                HttpMethod.GET, new HttpEntity<Void>(sessionHeaders), String.class);
+    }
+}
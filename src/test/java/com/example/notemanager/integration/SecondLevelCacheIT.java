@@ -0,0 +1,127 @@
+package com.example.notemanager.integration;
+
+import com.example.notemanager.integration.base.BaseIT;
+import com.example.notemanager.integration.base.TestFactory;
+import com.example.notemanager.model.Note;
+import com.example.notemanager.model.User;
+import com.example.notemanager.repository.NoteRepository;
+import com.example.notemanager.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecondLevelCacheIT extends BaseIT {
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestFactory testFactory;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @DynamicPropertySource
+    static void enableSecondLevelCache(DynamicPropertyRegistry registry) {
+        registry.add("notes.second-level-cache.enabled", () -> "true");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("A repeated note lookup is served from the cache without any SQL")
+    void givenCachedNote_whenFindByIdAndUserAgain_thenNoStatementIsExecuted() {
+        // given
+        User user = userRepository.save(testFactory.generateUser("CachedNoteOwner", "qwerty", "ROLE_USER", 0, null));
+        Note note = noteRepository.save(Note.builder().title("Cached").content("Served from memory").user(user).build());
+        read(() -> noteRepository.findByIdAndUser(note.getId(), user));
+
+        // when
+        long statementsBefore = statistics.getPrepareStatementCount();
+        Note cachedNote = read(() -> noteRepository.findByIdAndUser(note.getId(), user)).orElseThrow();
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsBefore);
+        assertThat(cachedNote.getContent()).isEqualTo("Served from memory");
+    }
+
+    @Test
+    @DisplayName("A note lookup after an update returns the new content")
+    void givenCachedNote_whenNoteIsUpdated_thenLookupSeesTheUpdate() {
+        // given
+        User user = userRepository.save(testFactory.generateUser("UpdatedNoteOwner", "qwerty", "ROLE_USER", 0, null));
+        Note note = noteRepository.save(Note.builder().title("Cached").content("Before").user(user).build());
+        read(() -> noteRepository.findByIdAndUser(note.getId(), user));
+
+        // when
+        write(() -> {
+            Note existing = noteRepository.findByIdAndUser(note.getId(), user).orElseThrow();
+            existing.setContent("After");
+            return noteRepository.save(existing);
+        });
+
+        // then
+        Note reloaded = read(() -> noteRepository.findByIdAndUser(note.getId(), user)).orElseThrow();
+        assertThat(reloaded.getContent()).isEqualTo("After");
+    }
+
+    @Test
+    @DisplayName("A repeated user lookup by name is served from the cache, a bulk update evicts it")
+    void givenCachedUser_whenFindByUserNameAgain_thenNoStatementUntilFailedAttemptIsRecorded() {
+        // given
+        User user = userRepository.save(testFactory.generateUser("CachedUser", "qwerty", "ROLE_USER", 0, null));
+        userRepository.findByUserName("CachedUser");
+
+        // when
+        long statementsBefore = statistics.getPrepareStatementCount();
+        userRepository.findByUserName("CachedUser");
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsBefore);
+
+        // when
+        userRepository.incrementFailedAttempts(user.getId(), 3, null);
+        User reloaded = userRepository.findByUserName("CachedUser").orElseThrow();
+
+        // then
+        assertThat(reloaded.getFailedAttempts()).isEqualTo(1);
+    }
+
+    private <T> T read(Supplier<T> work) {
+        return inTransaction(true, work);
+    }
+
+    private <T> T write(Supplier<T> work) {
+        return inTransaction(false, work);
+    }
+
+    private <T> T inTransaction(boolean readOnly, Supplier<T> work) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> work.get());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.notemanager.integration;
+
+import com.example.notemanager.integration.base.BaseIT;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TracingIT.InMemorySpans.class)
+@TestPropertySource(properties = "management.tracing.sampling.probability=1.0")
+class TracingIT extends BaseIT {
+    private static final AttributeKey<String> URI = AttributeKey.stringKey("uri");
+    private static final AttributeKey<String> CLASS = AttributeKey.stringKey("class");
+    private static final AttributeKey<String> METHOD = AttributeKey.stringKey("method");
+    private static final AttributeKey<String> STATEMENT = AttributeKey.stringKey("db.statement");
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Autowired
+    private InMemorySpanExporter spans;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @TestConfiguration
+    static class InMemorySpans {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Test
+    void noteListIsOneTraceFromTheFiltersDownToTheStatements() {
+        HttpHeaders authHeaders = signupAndLogin("traced", "password");
+        createNote("Traced", "Followed", authHeaders);
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        spans.reset();
+
+        ResponseEntity<String> response = restTemplate.exchange(SERVER_BASE_URL + port + API_BASE_URL + "/notes",
+                HttpMethod.GET, new HttpEntity<Void>(authHeaders), String.class);
+        assertThat(response.getStatusCode().value()).isEqualTo(HttpStatus.OK.value());
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        SpanData server = spans.getFinishedSpanItems().stream()
+                .filter(span -> span.getKind() == SpanKind.SERVER && "/api/v1/notes".equals(span.getAttributes().get(URI)))
+                .findFirst()
+                .orElseThrow();
+        List<SpanData> trace = spans.getFinishedSpanItems().stream()
+                .filter(span -> span.getTraceId().equals(server.getTraceId()))
+                .toList();
+
+        assertThat(trace).anySatisfy(span -> assertThat(span.getName()).contains("security"));
+        assertThat(trace).anySatisfy(span -> {
+            assertThat(span.getAttributes().get(CLASS)).isEqualTo("NoteService");
+            assertThat(span.getAttributes().get(METHOD)).isEqualTo("listAll");
+        });
+        assertThat(trace).anySatisfy(span -> assertThat(span.getAttributes().get(CLASS)).isEqualTo("UserService"));
+        // content and count run on the paging executor, they still belong to the request
+        assertThat(trace).filteredOn(span -> span.getAttributes().get(STATEMENT) != null)
+                .extracting(span -> span.getAttributes().get(STATEMENT))
+                .anySatisfy(statement -> assertThat(statement).containsIgnoringCase("count("))
+                .anySatisfy(statement -> assertThat(statement).containsIgnoringCase("from notes"));
+    }
+
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    void logEventsAreJsonLinesWithTheTraceIdOfTheirRequest(CapturedOutput output) throws Exception {
+        signupAndLogin("traced-logs", "password");
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        // the console appender runs behind an async queue
+        String line = null;
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (line == null && System.currentTimeMillis() < deadline) {
+            line = output.getOut().lines()
+                    .filter(candidate -> candidate.contains("user logged in: traced-logs"))
+                    .findFirst()
+                    .orElse(null);
+            Thread.sleep(50);
+        }
+        assertThat(line).as("log line of the login").isNotNull();
+
+        JsonNode event = JSON.readTree(line);
+        String traceId = event.at("/mdc/traceId").asText();
+        assertThat(event.get("level").asText()).isEqualTo("INFO");
+        assertThat(traceId).matches("[0-9a-f]{32}");
+        assertThat(spans.getFinishedSpanItems())
+                .anySatisfy(span -> assertThat(span.getTraceId()).isEqualTo(traceId));
+    }
+}
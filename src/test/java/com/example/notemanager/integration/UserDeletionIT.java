@@ -0,0 +1,118 @@
+package com.example.notemanager.integration;
+
+import com.example.notemanager.api.model.dto.request.UserLoginRequest;
+import com.example.notemanager.integration.base.BaseIT;
+import com.example.notemanager.model.User;
+import com.example.notemanager.model.UserDeletion;
+import com.example.notemanager.repository.NoteRepository;
+import com.example.notemanager.repository.UserDeletionRepository;
+import com.example.notemanager.repository.UserRepository;
+import com.example.notemanager.service.UserDeletionService;
+import com.example.notemanager.service.UserDeletionService.PurgedChunk;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDeletionIT extends BaseIT {
+
+    @Autowired
+    private UserDeletionService userDeletionService;
+
+    @Autowired
+    private UserDeletionRepository userDeletionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Cache<String, User> userCache;
+
+    @Test
+    void deletedUserIsLockedOutAtOnceAndTheNotesArePurgedInChunks() {
+        HttpHeaders authHeaders = signupAndLogin("leaving", "password");
+        for (int i = 0; i < 5; i++) {
+            createNote("Note " + i, "Content " + i, authHeaders);
+        }
+        long userId = userRepository.findByUserName("leaving").orElseThrow().getId();
+
+        ResponseEntity<Void> deleteResponse = restTemplate.exchange(SERVER_BASE_URL + port + API_BASE_URL + "/account",
+                HttpMethod.DELETE, new HttpEntity<Void>(authHeaders), Void.class);
+
+        assertThat(deleteResponse.getStatusCode().value()).isEqualTo(HttpStatus.ACCEPTED.value());
+        ResponseEntity<String> listResponse = restTemplate.exchange(SERVER_BASE_URL + port + API_BASE_URL + "/notes",
+                HttpMethod.GET, new HttpEntity<Void>(authHeaders), String.class);
+        assertThat(listResponse.getStatusCode().is4xxClientError()).isTrue();
+        ResponseEntity<String> loginResponse = restTemplate.postForEntity(SERVER_BASE_URL + port + API_BASE_URL + "/login",
+                new UserLoginRequest("leaving", "password"), String.class);
+        assertThat(loginResponse.getStatusCode().value()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+        assertThat(userDeletionRepository.findById(userId).orElseThrow().getNotesTotal()).isEqualTo(5);
+
+        // the scheduled job may take a chunk in between, so purge until the deletion is done
+        List<Integer> chunkSizes = new ArrayList<>();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!userDeletionRepository.findById(userId).orElseThrow().isCompleted()
+                && System.currentTimeMillis() < deadline) {
+            PurgedChunk chunk = transactionTemplate.execute(status -> userDeletionService.purgeChunk(2));
+            if (chunk != null) {
+                chunkSizes.add(chunk.notes());
+            }
+        }
+
+        assertThat(chunkSizes).allMatch(size -> size <= 2);
+        UserDeletion deletion = userDeletionRepository.findById(userId).orElseThrow();
+        assertThat(deletion.isCompleted()).isTrue();
+        assertThat(deletion.getNotesPurged()).isEqualTo(5);
+        assertThat(userRepository.findById(userId)).isEmpty();
+        assertThat(noteRepository.findIdsByUserId(userId, Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    void sessionOfTheLoginFormIsExpiredWhenTheUserIsDeleted() throws IOException, InterruptedException {
+        HttpHeaders authHeaders = signupAndLogin("leaving-browser", "password");
+        String session = mvcLogin("leaving-browser", "password");
+        assertThat(notePage(session).statusCode()).isEqualTo(HttpStatus.OK.value());
+
+        restTemplate.exchange(SERVER_BASE_URL + port + API_BASE_URL + "/account",
+                HttpMethod.DELETE, new HttpEntity<Void>(authHeaders), Void.class);
+
+        HttpResponse<String> afterDeletion = notePage(session);
+        assertThat(afterDeletion.statusCode()).isEqualTo(HttpStatus.FOUND.value());
+        assertThat(afterDeletion.headers().firstValue("Location")).hasValueSatisfying(
+                location -> assertThat(location).endsWith("/login?error=SessionExpired"));
+        assertThat(userCache.getIfPresent("leaving-browser")).isNull();
+    }
+
+    private HttpResponse<String> notePage(String session) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NEVER).build();
+        return client.send(HttpRequest.newBuilder(URI.create(SERVER_BASE_URL + port + "/note/list"))
+                        .header(HttpHeaders.COOKIE, session)
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
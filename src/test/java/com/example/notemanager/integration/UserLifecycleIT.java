@@ -88,6 +88,9 @@ class UserLifecycleIT extends BaseIT {
         // 6: Verify the created note data
         NoteResponse createdNote = notes.getContent().get(0);
         assertThat(createdNote.title()).isEqualTo(title);
-        assertThat(createdNote.content()).isEqualTo(content);
+        // lists return a preview, the content is short enough to be previewed in full
+        assertThat(createdNote.preview()).isEqualTo(content);
+        assertThat(createdNote.contentLength()).isEqualTo(content.length());
+        assertThat(createdNote.content()).isNull();
     }
 }
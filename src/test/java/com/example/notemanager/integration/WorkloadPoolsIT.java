@@ -0,0 +1,104 @@
+package com.example.notemanager.integration;
+
+import com.example.notemanager.datasource.Workload;
+import com.example.notemanager.datasource.WorkloadContext;
+import com.example.notemanager.integration.base.BaseIT;
+import com.example.notemanager.repository.NoteRepository;
+import com.example.notemanager.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every pool publishes {@code hikaricp.connections.usage} tagged with its name; a connection handed back
+ * to a pool shows which pool the work went to.
+ */
+class WorkloadPoolsIT extends BaseIT {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void everyWorkloadReachesItsOwnPool() {
+        long authBefore = usages(Workload.AUTH);
+        HttpHeaders authHeaders = signupAndLogin("pooled", "password");
+        assertThat(usages(Workload.AUTH)).isGreaterThan(authBefore);
+
+        long writeBefore = usages(Workload.WRITE);
+        ResponseEntity<Void> created = createNote("Pooled", "Written on the write pool", authHeaders);
+        assertThat(created.getStatusCode().value()).isEqualTo(HttpStatus.CREATED.value());
+        assertThat(usages(Workload.WRITE)).isGreaterThan(writeBefore);
+
+        long readBefore = usages(Workload.READ);
+        ResponseEntity<String> list = restTemplate.exchange(SERVER_BASE_URL + port + API_BASE_URL + "/notes",
+                HttpMethod.GET, new HttpEntity<Void>(authHeaders), String.class);
+        assertThat(list.getStatusCode().value()).isEqualTo(HttpStatus.OK.value());
+        assertThat(usages(Workload.READ)).isGreaterThan(readBefore);
+
+        long bulkBefore = usages(Workload.BULK);
+        long readBeforeBulk = usages(Workload.READ);
+        long notes = WorkloadContext.call(Workload.BULK, noteRepository::count);
+        assertThat(notes).isPositive();
+        assertThat(usages(Workload.BULK)).isGreaterThan(bulkBefore);
+        assertThat(usages(Workload.READ)).isEqualTo(readBeforeBulk);
+    }
+
+    @Test
+    void authLookupInsideAWriteTransactionLeavesItOnTheWritePool() {
+        signupAndLogin("pooled-in-transaction", "password");
+        long authBefore = usages(Workload.AUTH);
+        long writeBefore = usages(Workload.WRITE);
+
+        // like a user cache miss as the first statement of NoteService.update
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            WorkloadContext.call(Workload.AUTH, () -> userRepository.findByUserName("pooled-in-transaction"));
+            noteRepository.count();
+        });
+
+        assertThat(usages(Workload.WRITE)).isGreaterThan(writeBefore);
+        assertThat(usages(Workload.AUTH)).isEqualTo(authBefore);
+    }
+
+    @Test
+    void migrationsRunWithoutStatementTimeout() throws SQLException {
+        try (Connection connection = flyway.getConfiguration().getDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SHOW statement_timeout")) {
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getString(1)).isEqualTo("0");
+        }
+    }
+
+    private long usages(Workload workload) {
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", workload.name().toLowerCase()).timer();
+        return usage != null ? usage.count() : 0;
+    }
+}
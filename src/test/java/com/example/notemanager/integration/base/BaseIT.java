@@ -1,22 +1,50 @@
 package com.example.notemanager.integration.base;
 
+import com.example.notemanager.api.model.dto.request.NoteCreateRequest;
+import com.example.notemanager.api.model.dto.request.UserLoginRequest;
+import com.example.notemanager.api.model.dto.response.LoginResponse;
+import com.example.notemanager.diagnostics.QueryCountFilter;
+import com.example.notemanager.diagnostics.ResourceUsageFilter;
 import com.example.notemanager.integration.config.TestcontainersConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.example.notemanager.integration.util.TestUtil.createUserRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
 @Import(TestcontainersConfig.class)
+@AutoConfigureObservability
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ContextConfiguration(classes = {TestcontainersConfig.class})
 public class BaseIT {
     public static final String SERVER_BASE_URL = "http://localhost:";
     public static final String API_BASE_URL = "/api/v1";
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
 
     @LocalServerPort
     protected int port;
@@ -32,5 +60,88 @@ public class BaseIT {
         registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
         registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("notes.query-count.enabled", () -> "true");
+        registry.add("notes.query-count.response-headers", () -> "true");
+        registry.add("notes.resource-usage.sample-rate", () -> "1");
+        registry.add("notes.resource-usage.response-headers", () -> "true");
+    }
+
+    /**
+     * Statements the request behind the response issued, including the user lookup of the authentication.
+     */
+    protected static long queryCount(ResponseEntity<?> response) {
+        String count = response.getHeaders().getFirst(QueryCountFilter.COUNT_HEADER);
+        assertThat(count).as("query count header").isNotNull();
+        return Long.parseLong(count);
+    }
+
+    /**
+     * Heap the request thread allocated for the request behind the response.
+     */
+    protected static long allocatedBytes(ResponseEntity<?> response) {
+        String allocated = response.getHeaders().getFirst(ResourceUsageFilter.ALLOCATED_HEADER);
+        assertThat(allocated).as("allocated bytes header").isNotNull();
+        return Long.parseLong(allocated);
+    }
+
+    /**
+     * Logs in through the login form and returns the session cookie.
+     */
+    protected String mvcLogin(String userName, String password) throws IOException, InterruptedException {
+        CookieManager cookies = new CookieManager();
+        HttpClient client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .cookieHandler(cookies)
+                .build();
+        URI loginUri = URI.create(SERVER_BASE_URL + port + "/login");
+        HttpResponse<String> form = client.send(HttpRequest.newBuilder(loginUri).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher csrf = CSRF.matcher(form.body());
+        assertThat(csrf.find()).as("CSRF token in the login form").isTrue();
+
+        String body = "username=" + encode(userName) + "&password=" + encode(password) + "&_csrf=" + encode(csrf.group(1));
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(loginUri)
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(login.headers().firstValue("Location")).hasValueSatisfying(
+                location -> assertThat(location).endsWith("/note/list"));
+
+        HttpCookie session = cookies.getCookieStore().getCookies().stream()
+                .filter(cookie -> cookie.getName().equals("JSESSIONID"))
+                .findFirst()
+                .orElseThrow();
+        return session.getName() + "=" + session.getValue();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    protected HttpHeaders signupAndLogin(String userName, String password) {
+        restTemplate.postForEntity(SERVER_BASE_URL + port + API_BASE_URL + "/signup",
+                createUserRequest(userName, password), Void.class);
+        ResponseEntity<LoginResponse> loginResponse = restTemplate.postForEntity(
+                SERVER_BASE_URL + port + API_BASE_URL + "/login",
+                new UserLoginRequest(userName, password), LoginResponse.class);
+        assertThat(loginResponse.getBody()).isNotNull();
+
+        HttpHeaders authHeaders = new HttpHeaders();
+        authHeaders.setBearerAuth(loginResponse.getBody().token());
+        return authHeaders;
+    }
+
+    protected ResponseEntity<Void> createNote(String title, String content, HttpHeaders authHeaders) {
+        return restTemplate.postForEntity(SERVER_BASE_URL + port + API_BASE_URL + "/notes",
+                new HttpEntity<>(new NoteCreateRequest(title, content), authHeaders), Void.class);
+    }
+
+    /**
+     * GET on the api as the user of the headers, with the body read as json.
+     */
+    protected ResponseEntity<JsonNode> get(String path, HttpHeaders authHeaders) {
+        return restTemplate.exchange(SERVER_BASE_URL + port + API_BASE_URL + path,
+                HttpMethod.GET, new HttpEntity<Void>(authHeaders), JsonNode.class);
     }
-}
\ No newline at end of file
+}
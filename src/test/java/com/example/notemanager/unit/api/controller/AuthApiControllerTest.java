@@ -126,7 +126,7 @@ class AuthApiControllerTest {
         String username = "Whiskers";
         String password = "youshallnotpass";
 
-        User user = new User(1L, username, passwordEncoder.encode(password), "USER", 0, null, null);
+        User user = new User(1L, username, passwordEncoder.encode(password), "USER", 0, null, null, null);
 
         LoginResponse response = new LoginResponse("meowstsecureandverylongandundecipherabletoken");
 
@@ -172,7 +172,7 @@ class AuthApiControllerTest {
         // given
         String username = "Whiskers";
         String password = "wrongpassword";
-        User user = new User(1L, username, passwordEncoder.encode(password), "USER", 0, null, null);
+        User user = new User(1L, username, passwordEncoder.encode(password), "USER", 0, null, null, null);
 
         when(userService.findByUserName(username)).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(password, user.getPassword())).thenReturn(false);
@@ -196,7 +196,7 @@ class AuthApiControllerTest {
         String username = "Whiskers";
         String encodedPassword = passwordEncoder.encode("youshallnotpass");
 
-        User user = new User(1L, username, encodedPassword, "USER", 0, LocalDateTime.now().plusMinutes(15), null);
+        User user = new User(1L, username, encodedPassword, "USER", 0, LocalDateTime.now().plusMinutes(15), null, null);
 
         when(userService.findByUserName(username)).thenReturn(Optional.of(user));
         when(userService.isAccountLocked(user)).thenReturn(true);
@@ -0,0 +1,49 @@
+package com.example.notemanager.unit.datasource;
+
+import com.example.notemanager.datasource.StatementTimeout;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StatementTimeoutTest {
+
+    @Test
+    void timeoutIsPassedAsOptionsProperty() {
+        HikariDataSource dataSource = dataSource("jdbc:postgresql://db:5432/notes?sslmode=disable");
+
+        StatementTimeout.apply(dataSource, Duration.ofSeconds(2));
+
+        assertEquals("-c statement_timeout=2000", dataSource.getDataSourceProperties().getProperty("options"));
+        assertEquals("jdbc:postgresql://db:5432/notes?sslmode=disable", dataSource.getJdbcUrl());
+    }
+
+    @Test
+    void optionsOfTheUrlAreKeptNextToTheTimeout() {
+        HikariDataSource dataSource =
+                dataSource("jdbc:postgresql://db:5432/notes?options=-c%20search_path%3Dnotes&sslmode=disable");
+
+        StatementTimeout.apply(dataSource, Duration.ZERO);
+
+        assertEquals("-c search_path=notes -c statement_timeout=0",
+                dataSource.getDataSourceProperties().getProperty("options"));
+        assertEquals("jdbc:postgresql://db:5432/notes?sslmode=disable", dataSource.getJdbcUrl());
+    }
+
+    @Test
+    void urlWithATimeoutOfItsOwnIsRejected() {
+        HikariDataSource dataSource =
+                dataSource("jdbc:postgresql://db:5432/notes?sslmode=disable&options=-c%20statement_timeout%3D0");
+
+        assertThrows(IllegalStateException.class, () -> StatementTimeout.apply(dataSource, Duration.ofSeconds(5)));
+    }
+
+    private static HikariDataSource dataSource(String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        return dataSource;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.notemanager.unit.diagnostics;
+
+import com.example.notemanager.diagnostics.FlightRecordings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlightRecordingsTest {
+    @TempDir
+    private Path dumpDirectory;
+
+    private FlightRecordings recordings;
+
+    @AfterEach
+    void tearDown() {
+        if (recordings != null) {
+            recordings.stop();
+        }
+    }
+
+    @Test
+    void namesThatCouldLeaveTheDumpDirectoryAreRejected() {
+        recordings = recordings();
+
+        assertThrows(IllegalArgumentException.class, () -> recordings.start("../escaped", null));
+        assertThrows(IllegalArgumentException.class, () -> recordings.start("escaped.jfr", null));
+        assertThrows(IllegalArgumentException.class, () -> recordings.start("", null));
+        assertTrue(recordings.list().isEmpty());
+    }
+
+    @Test
+    void dumpIsWrittenIntoTheDumpDirectory() {
+        recordings = recordings();
+
+        assertTrue(recordings.start("incident_1", null));
+        assertFalse(recordings.start("incident_1", null));
+        Path dump = recordings.dump("incident_1").orElseThrow();
+
+        assertEquals(dumpDirectory, dump.getParent());
+    }
+
+    private FlightRecordings recordings() {
+        return new FlightRecordings(false, Duration.ofMinutes(1), 10 * 1024 * 1024, dumpDirectory,
+                Duration.ofMillis(50), Duration.ofMillis(5));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.notemanager.unit.logging;
+
+import com.example.notemanager.logging.RateLimitedLogger;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitedLoggerTest {
+    private final Logger delegate = mock(Logger.class);
+    private final AtomicLong clock = new AtomicLong();
+    private final RateLimitedLogger logger = new RateLimitedLogger(delegate, 2, clock::get);
+
+    @Test
+    void messagesAboveTheRateAreSuppressedUntilTheNextSecond() {
+        when(delegate.isInfoEnabled()).thenReturn(true);
+        long suppressedBefore = RateLimitedLogger.suppressed();
+
+        for (int i = 0; i < 5; i++) {
+            logger.info("Message {}", i);
+        }
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        logger.info("Message {}", 5);
+
+        verify(delegate).info("Message {}", 0);
+        verify(delegate).info("Message {}", 1);
+        verify(delegate, never()).info("Message {}", 2);
+        verify(delegate).info("Message {}", 5);
+        assertEquals(3, RateLimitedLogger.suppressed() - suppressedBefore);
+    }
+
+    @Test
+    void disabledLevelIsNeitherLoggedNorCounted() {
+        when(delegate.isDebugEnabled()).thenReturn(false);
+        long suppressedBefore = RateLimitedLogger.suppressed();
+
+        for (int i = 0; i < 5; i++) {
+            logger.debug("Message {}", i);
+        }
+
+        verify(delegate, times(0)).debug(anyString(), any(Object.class));
+        assertEquals(0, RateLimitedLogger.suppressed() - suppressedBefore);
+    }
+}
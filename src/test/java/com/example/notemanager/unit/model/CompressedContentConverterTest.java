@@ -0,0 +1,47 @@
+package com.example.notemanager.unit.model;
+
+import com.example.notemanager.model.converter.CompressedContentConverter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompressedContentConverterTest {
+    private final CompressedContentConverter converter = new CompressedContentConverter();
+
+    @Test
+    @DisplayName("Content survives a round trip and repetitive text is stored much smaller")
+    void givenLongRepetitiveContent_whenConverted_thenRoundTripsAndShrinks() {
+        // given
+        String content = "2024-11-30 12:00:00 INFO Purring at maximum level, ünïcödé 🐈\n".repeat(500);
+
+        // when
+        byte[] stored = converter.convertToDatabaseColumn(content);
+
+        // then
+        assertThat(stored.length).isLessThan(content.length() / 10);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("Null is stored as null")
+    void givenNull_whenConverted_thenNull() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Truncated or unknown values are rejected")
+    void givenDamagedValue_whenRead_thenFails() {
+        byte[] stored = converter.convertToDatabaseColumn("Snack break ".repeat(100));
+
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(Arrays.copyOf(stored, stored.length / 2)))
+                .isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(new byte[]{42, 1, 2}))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
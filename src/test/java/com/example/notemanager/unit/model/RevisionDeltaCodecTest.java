@@ -0,0 +1,74 @@
+package com.example.notemanager.unit.model;
+
+import com.example.notemanager.model.converter.RevisionDeltaCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RevisionDeltaCodecTest {
+    private final RevisionDeltaCodec codec = new RevisionDeltaCodec();
+
+    @Test
+    @DisplayName("A chain of small edits rebuilds every revision and stores a fraction of full copies")
+    void givenEditsOfALongNote_whenStoredAsDeltas_thenEveryRevisionRebuildsAndStorageStaysSmall() {
+        // given
+        List<String> revisions = new ArrayList<>();
+        String text = "Feeding schedule, ünïcödé 🐈\n".repeat(200);
+        revisions.add(text);
+        for (int i = 0; i < 50; i++) {
+            int at = (i * 397) % text.length();
+            if (Character.isLowSurrogate(text.charAt(at))) {
+                at--;
+            }
+            text = text.substring(0, at) + "edit " + i + " 🐟" + text.substring(at);
+            revisions.add(text);
+        }
+
+        // when
+        byte[] snapshot = codec.snapshot(revisions.get(0));
+        List<byte[]> deltas = new ArrayList<>();
+        for (int i = 1; i < revisions.size(); i++) {
+            deltas.add(codec.delta(revisions.get(i - 1), revisions.get(i)));
+        }
+
+        // then
+        String rebuilt = codec.readSnapshot(snapshot);
+        for (int i = 0; i < deltas.size(); i++) {
+            rebuilt = codec.apply(rebuilt, deltas.get(i));
+            assertThat(rebuilt).isEqualTo(revisions.get(i + 1));
+        }
+        long fullCopies = revisions.stream().mapToLong(String::length).sum();
+        long stored = snapshot.length + deltas.stream().mapToLong(delta -> delta.length).sum();
+        assertThat(stored).isLessThan(fullCopies / 100);
+        assertThat(codec.isSnapshot(snapshot)).isTrue();
+        assertThat(codec.isSnapshot(deltas.get(0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Edits next to surrogate pairs and complete rewrites survive the round trip")
+    void givenEditsAroundSurrogatePairs_whenDeltaIsApplied_thenTextIsRestored() {
+        assertRoundTrip("🐈🐈", "🐈🐕");
+        assertRoundTrip("a🐈b", "a🐕b");
+        assertRoundTrip("same", "same");
+        assertRoundTrip("", "new");
+        assertRoundTrip("old", "");
+        assertRoundTrip("entirely", "different");
+    }
+
+    @Test
+    @DisplayName("A delta that doesn't fit the text it is applied to is rejected")
+    void givenDeltaOfLongerText_whenAppliedToShortText_thenFails() {
+        byte[] delta = codec.delta("a long base text", "a long base text!");
+
+        assertThatThrownBy(() -> codec.apply("short", delta)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private void assertRoundTrip(String base, String target) {
+        assertThat(codec.apply(base, codec.delta(base, target))).isEqualTo(target);
+    }
+}
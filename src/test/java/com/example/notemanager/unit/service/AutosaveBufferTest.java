@@ -0,0 +1,128 @@
+package com.example.notemanager.unit.service;
+
+import com.example.notemanager.config.AutosaveProperties;
+import com.example.notemanager.model.Note;
+import com.example.notemanager.model.User;
+import com.example.notemanager.repository.NoteRepository;
+import com.example.notemanager.service.AutosaveBuffer;
+import com.example.notemanager.service.NoteArchiveService;
+import com.example.notemanager.service.ReadCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AutosaveBufferTest {
+    private NoteRepository noteRepository;
+    private MutableClock clock;
+    private AutosaveBuffer autosaveBuffer;
+    private Note note;
+
+    @BeforeEach
+    void setUp() {
+        noteRepository = mock(NoteRepository.class);
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        AutosaveProperties properties = new AutosaveProperties(true, Duration.ofSeconds(2), Duration.ofSeconds(10),
+                Duration.ofMillis(500), 50, 2);
+        autosaveBuffer = new AutosaveBuffer(properties, noteRepository,
+                new ReadCoalescer(new SimpleMeterRegistry(), true), mock(NoteArchiveService.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), mock(TaskScheduler.class),
+                new SimpleMeterRegistry(), clock, 5);
+
+        User user = new User();
+        user.setId(1L);
+        note = Note.builder().id(7L).title("Draft").content("first").user(user).build();
+        when(noteRepository.findAllById(any())).thenReturn(List.of(note));
+    }
+
+    @Test
+    void onlyTheLatestAutosaveIsWrittenAfterTheQuietPeriod() {
+        autosaveBuffer.offer(7L, 1L, "Draft", "first words");
+        clock.advance(Duration.ofSeconds(1));
+        autosaveBuffer.offer(7L, 1L, "Draft", "first words and more");
+
+        autosaveBuffer.flushDue();
+        verify(noteRepository, never()).findAllById(any());
+        assertEquals("first", autosaveBuffer.find(7L, 1L).orElseThrow().preview());
+
+        clock.advance(Duration.ofSeconds(2));
+        autosaveBuffer.flushDue();
+
+        assertEquals("first words and more", note.getContent());
+        verify(noteRepository).flush();
+        assertTrue(autosaveBuffer.find(7L, 1L).isEmpty());
+    }
+
+    @Test
+    void continuousAutosavesAreWrittenAfterTheMaxDelay() {
+        for (int second = 0; second <= 10; second++) {
+            autosaveBuffer.offer(7L, 1L, "Draft", "after " + second + "s");
+            autosaveBuffer.flushDue();
+            clock.advance(Duration.ofSeconds(1));
+        }
+
+        assertEquals("after 10s", note.getContent());
+        verify(noteRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void autosavesAreOnlyVisibleToTheirOwnerAndFullBufferRejectsNewNotes() {
+        assertTrue(autosaveBuffer.offer(7L, 1L, "Draft", "text"));
+        assertTrue(autosaveBuffer.offer(8L, 1L, "Other", "text"));
+
+        assertFalse(autosaveBuffer.offer(9L, 1L, "Third", "text"));
+        assertTrue(autosaveBuffer.offer(8L, 1L, "Other", "more text"));
+        assertTrue(autosaveBuffer.find(7L, 2L).isEmpty());
+        assertTrue(autosaveBuffer.take(7L, 2L).isEmpty());
+    }
+
+    @Test
+    void pendingAutosavesAreWrittenOnStop() {
+        autosaveBuffer.offer(7L, 1L, "Renamed", "unsaved");
+
+        autosaveBuffer.stop();
+
+        assertEquals("Renamed", note.getTitle());
+        assertEquals("unsaved", note.getContent());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
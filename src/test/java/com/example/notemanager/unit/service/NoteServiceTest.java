@@ -1,22 +1,44 @@
 package com.example.notemanager.unit.service;
 
+import com.example.notemanager.config.PagingProperties;
 import com.example.notemanager.exception.ExceptionMessages;
 import com.example.notemanager.exception.NoteServiceException;
 import com.example.notemanager.model.Note;
+import com.example.notemanager.model.NoteField;
+import com.example.notemanager.model.NoteProjection;
 import com.example.notemanager.model.User;
 import com.example.notemanager.repository.NoteRepository;
+import com.example.notemanager.repository.NoteWithContent;
+import com.example.notemanager.service.AutosaveBuffer;
+import com.example.notemanager.service.NoteArchiveService;
+import com.example.notemanager.service.NoteRevisionService;
 import com.example.notemanager.service.NoteService;
+import com.example.notemanager.service.PagedEndpoint;
+import com.example.notemanager.service.PagedQueryExecutor;
+import com.example.notemanager.service.PendingNoteWrite;
+import com.example.notemanager.service.ReadCoalescer;
 import com.example.notemanager.service.UserService;
 import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,15 +47,21 @@ class NoteServiceTest {
     private NoteRepository noteRepository;
     private User mockUser;
     private Cache<String, User> userCache;
+    private AutosaveBuffer autosaveBuffer;
+    private NoteArchiveService noteArchiveService;
     private NoteService noteService;
+    private ExecutorService executorService;
 
     @BeforeEach
     void setUp() {
         noteRepository = mock(NoteRepository.class);
         UserService userService = mock(UserService.class);
         userCache = mock(Cache.class);
+        autosaveBuffer = mock(AutosaveBuffer.class);
+        noteArchiveService = mock(NoteArchiveService.class);
+        executorService = Executors.newFixedThreadPool(2);
 
-        noteService = new NoteService(noteRepository, userService);
+        noteService = noteService(userService, pagedQueryExecutor(Map.of()));
 
         mockUser = new User();
         mockUser.setId(1L);
@@ -41,6 +69,28 @@ class NoteServiceTest {
         when(userService.getAuthenticatedUser()).thenReturn(mockUser);
     }
 
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    private NoteService noteService(UserService userService, PagedQueryExecutor pagedQueryExecutor) {
+        return new NoteService(noteRepository, userService, pagedQueryExecutor,
+                new ReadCoalescer(new SimpleMeterRegistry(), true), autosaveBuffer, mock(NoteRevisionService.class),
+                noteArchiveService);
+    }
+
+    private PagedQueryExecutor pagedQueryExecutor(Map<PagedEndpoint, Boolean> concurrent) {
+        PagingProperties properties = new PagingProperties(concurrent, 4, Duration.ofSeconds(5));
+        return new PagedQueryExecutor(executorService, properties, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+    }
+
+    private static PendingNoteWrite pendingWrite() {
+        Instant now = Instant.now();
+        return new PendingNoteWrite(1L, 1L, "new title", "new cat", "new cat", 7, now, now);
+    }
+
     @Test
     void listAllReturnsEmptyListWhenNoNotesExist() {
         PageRequest pageRequest = PageRequest.of(0, 5);
@@ -81,6 +131,59 @@ class NoteServiceTest {
         assertEquals(page, result.getNumber(), "Current page number should match the requested page.");
     }
 
+    @Test
+    void listAllWithContentReturnsFullContentOfCompressedAndPlainNotes() {
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        Page<NoteWithContent> rows = new PageImpl<>(List.of(
+                new NoteWithContent(1L, "plain", "short content", null, null, "short content", 13),
+                new NoteWithContent(2L, "compressed", null, "long content", null, "long", 12)), pageRequest, 2);
+
+        when(noteRepository.findWithContentByUser(mockUser, pageRequest)).thenReturn(rows);
+
+        Page<Note> result = noteService.listAll(pageRequest, true);
+
+        assertEquals(List.of("short content", "long content"),
+                result.getContent().stream().map(Note::getContent).toList());
+        assertEquals("long", result.getContent().get(1).getPreview());
+        verify(noteRepository, never()).findByUser(mockUser, pageRequest);
+    }
+
+    @Test
+    void listAllRunsContentAndCountQueriesConcurrentlyWhenEnabled() {
+        UserService userService = mock(UserService.class);
+        when(userService.getAuthenticatedUser()).thenReturn(mockUser);
+        noteService = noteService(userService, pagedQueryExecutor(Map.of(PagedEndpoint.LIST, true)));
+
+        Note note1 = Note.builder().id(1L).title("title 1").content("content 1").build();
+        Note note2 = Note.builder().id(2L).title("title 2").content("content 2").build();
+        PageRequest pageRequest = PageRequest.of(0, 2);
+
+        when(noteRepository.findContentByUser(mockUser, pageRequest)).thenReturn(List.of(note1, note2));
+        when(noteRepository.countByUser(mockUser)).thenReturn(3L);
+
+        Page<Note> result = noteService.listAll(pageRequest);
+
+        assertEquals(List.of(note1, note2), result.getContent());
+        assertEquals(3, result.getTotalElements(), "Total elements should come from the count query.");
+        assertEquals(2, result.getTotalPages());
+        verify(noteRepository, never()).findByUser(mockUser, pageRequest);
+    }
+
+    @Test
+    void searchPropagatesFailureOfConcurrentCountQuery() {
+        UserService userService = mock(UserService.class);
+        when(userService.getAuthenticatedUser()).thenReturn(mockUser);
+        noteService = noteService(userService, pagedQueryExecutor(Map.of(PagedEndpoint.SEARCH, true)));
+
+        PageRequest pageRequest = PageRequest.of(0, 2);
+        when(noteRepository.findContentByUserAndKeyword(mockUser, "cat", Set.of(), pageRequest)).thenReturn(List.of());
+        when(noteRepository.countByUserAndKeyword(mockUser, "cat", Set.of()))
+                .thenThrow(new IllegalArgumentException("boom"));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> noteService.search("cat", pageRequest));
+        assertEquals("boom", exception.getMessage());
+    }
+
     @Test
     void createSavesAndReturnsNewNote() {
         Note inputNote = Note.builder().title("title").content("content").build();
@@ -121,6 +224,73 @@ class NoteServiceTest {
         verify(noteRepository).findByIdAndUser(1L, mockUser);
     }
 
+    @Test
+    void getFieldsByIdTouchesTheNote() {
+        Set<NoteField> fields = Set.of(NoteField.ID, NoteField.TITLE);
+        NoteProjection projection = new NoteProjection(Map.of(NoteField.ID, 1L, NoteField.TITLE, "title"));
+        when(noteRepository.findFieldsByIdAndUser(1L, mockUser, fields)).thenReturn(Optional.of(projection));
+
+        NoteProjection result = noteService.getFieldsById(1L, fields);
+
+        assertEquals(projection, result);
+        verify(noteArchiveService).touch(1L);
+    }
+
+    @Test
+    void searchReturnsTheAutosavedTitleAndContent() {
+        Note note = Note.builder().id(1L).title("old title").content("old cat").build();
+        PageRequest pageRequest = PageRequest.of(0, 5);
+        when(noteRepository.findByUserAndKeyword(mockUser, "cat", Set.of(), pageRequest))
+                .thenReturn(new PageImpl<>(List.of(note), pageRequest, 1));
+        when(autosaveBuffer.find(1L, 1L)).thenReturn(Optional.of(pendingWrite()));
+
+        Page<Note> result = noteService.search("cat", pageRequest);
+
+        assertEquals("new title", result.getContent().get(0).getTitle());
+        assertEquals("new cat", result.getContent().get(0).getPreview());
+    }
+
+    @Test
+    void searchMatchesNotesByTheirCompressedContent() {
+        Note compressed = Note.builder().id(2L).title("long read").preview("all about the cat").build();
+        PageRequest pageRequest = PageRequest.of(0, 5);
+        when(noteRepository.findCompressedContentMatches(mockUser, "tuna")).thenReturn(Set.of(2L));
+        when(noteRepository.findByUserAndKeyword(mockUser, "tuna", Set.of(2L), pageRequest))
+                .thenReturn(new PageImpl<>(List.of(compressed), pageRequest, 1));
+
+        Page<Note> result = noteService.search("tuna", pageRequest);
+
+        assertEquals(List.of(2L), result.getContent().stream().map(Note::getId).toList());
+    }
+
+    @Test
+    void listFieldsReturnsTheAutosavedValuesWithoutTheIdThatWasNotRequested() {
+        Set<NoteField> fields = Set.of(NoteField.TITLE, NoteField.CONTENT_LENGTH);
+        PageRequest pageRequest = PageRequest.of(0, 5);
+        NoteProjection projection = new NoteProjection(
+                Map.of(NoteField.ID, 1L, NoteField.TITLE, "old title", NoteField.CONTENT_LENGTH, 7));
+        when(noteRepository.findFields(mockUser, null, Set.of(), EnumSet.of(NoteField.ID, NoteField.TITLE,
+                NoteField.CONTENT_LENGTH), pageRequest)).thenReturn(List.of(projection));
+        when(autosaveBuffer.find(1L, 1L)).thenReturn(Optional.of(pendingWrite()));
+
+        Page<NoteProjection> result = noteService.listFields(pageRequest, fields);
+
+        NoteProjection applied = result.getContent().get(0);
+        assertEquals(Map.of(NoteField.TITLE, "new title", NoteField.CONTENT_LENGTH, 7), applied.values());
+    }
+
+    @Test
+    void getFieldsByIdReturnsTheAutosavedContent() {
+        Set<NoteField> fields = Set.of(NoteField.CONTENT);
+        when(noteRepository.findFieldsByIdAndUser(1L, mockUser, fields))
+                .thenReturn(Optional.of(new NoteProjection(Map.of(NoteField.CONTENT, "old cat"))));
+        when(autosaveBuffer.find(1L, 1L)).thenReturn(Optional.of(pendingWrite()));
+
+        NoteProjection result = noteService.getFieldsById(1L, fields);
+
+        assertEquals("new cat", result.get(NoteField.CONTENT));
+    }
+
     @Test
     void getByIdThrowsExceptionIfNoteDoesNotExist() {
         when(noteRepository.findByIdAndUser(999L, mockUser)).thenReturn(Optional.empty());
@@ -131,7 +301,8 @@ class NoteServiceTest {
 
     @Test
     void updateSavesAndReturnsUpdatedNoteIfExists() {
-        Note existingNote = Note.builder().id(1L).title("old title").content("old content").user(mockUser).build();
+        Note existingNote = Note.builder().id(1L).title("old title").content("old content").user(mockUser)
+                .version(0L).build();
         Note updatedNote = Note.builder().id(1L).title("new title").content("new content").build();
 
         when(noteRepository.findByIdAndUser(1L, mockUser)).thenReturn(Optional.of(existingNote));
@@ -157,6 +328,24 @@ class NoteServiceTest {
         assertEquals(ExceptionMessages.NOTE_NOT_FOUND.getMessage(), exception.getMessage());
     }
 
+    @Test
+    void autosaveRestoresAnArchivedNoteBeforeWritingItWhenTheBufferIsFull() {
+        Note archivedNote = Note.builder().id(1L).title("old title").user(mockUser).archived(true).version(0L).build();
+        Note autosaved = Note.builder().id(1L).title("new title").content("new content").build();
+
+        when(noteRepository.existsByIdAndUser(1L, mockUser)).thenReturn(true);
+        when(noteRepository.findByIdAndUser(1L, mockUser)).thenReturn(Optional.of(archivedNote));
+        when(autosaveBuffer.offer(1L, 1L, "new title", "new content")).thenReturn(false);
+
+        noteService.autosave(autosaved);
+
+        InOrder inOrder = inOrder(noteArchiveService, noteRepository);
+        inOrder.verify(noteArchiveService).restore(archivedNote);
+        inOrder.verify(noteRepository).save(archivedNote);
+        verify(noteArchiveService).touch(1L);
+        assertEquals("new content", archivedNote.getContent());
+    }
+
     @Test
     void deleteRemovesExistingNote() {
         Note note = Note.builder().id(1L).title("title").content("content").user(mockUser).build();
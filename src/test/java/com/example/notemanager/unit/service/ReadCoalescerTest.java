@@ -0,0 +1,181 @@
+package com.example.notemanager.unit.service;
+
+import com.example.notemanager.exception.NoteServiceException;
+import com.example.notemanager.service.ReadCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadCoalescerTest {
+    private ReadCoalescer readCoalescer;
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setUp() {
+        readCoalescer = new ReadCoalescer(new SimpleMeterRegistry(), true);
+        executorService = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void concurrentIdenticalReadsShareOneCall() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        Future<String> leader = executorService.submit(() -> readCoalescer.execute(1L, "getById", List.of(5L), () -> {
+            calls.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return "note";
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        Future<String> follower = executorService.submit(() -> readCoalescer.execute(1L, "getById", List.of(5L), () -> {
+            calls.incrementAndGet();
+            return "other";
+        }));
+        waitForCoalescedCall();
+        release.countDown();
+
+        assertEquals("note", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("note", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get(), "Only the leader should reach the read.");
+    }
+
+    @Test
+    void followerReceivesLeaderFailure() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executorService.submit(() -> readCoalescer.<String>execute(1L, "getById", List.of(5L), () -> {
+            leaderStarted.countDown();
+            await(release);
+            throw new NoteServiceException("Note not found");
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        Future<String> follower = executorService.submit(() -> readCoalescer.execute(1L, "getById", List.of(5L), () -> "other"));
+        waitForCoalescedCall();
+        release.countDown();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(NoteServiceException.class, leaderFailure.getCause());
+        assertInstanceOf(NoteServiceException.class, followerFailure.getCause());
+    }
+
+    @Test
+    void invalidateDetachesReadsInFlightForTheUser() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executorService.submit(() -> readCoalescer.execute(1L, "listAll", List.of(0), () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "stale";
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        readCoalescer.invalidate(1L);
+        String fresh = readCoalescer.execute(1L, "listAll", List.of(0), () -> "fresh");
+        release.countDown();
+
+        assertEquals("fresh", fresh);
+        assertEquals("stale", leader.get(5, TimeUnit.SECONDS));
+        assertEquals(0, readCoalescer.coalescedCount());
+    }
+
+    @Test
+    void followerReceivesACopyOfTheLeaderResult() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> result = new ArrayList<>(List.of("note"));
+
+        Future<List<String>> leader = executorService.submit(() -> readCoalescer.execute(1L, "getById", List.of(5L), () -> {
+            leaderStarted.countDown();
+            await(release);
+            return result;
+        }, ArrayList::new));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        Future<List<String>> follower = executorService.submit(() -> readCoalescer.execute(1L, "getById", List.of(5L),
+                () -> List.of("other"), ArrayList::new));
+        waitForCoalescedCall();
+        release.countDown();
+
+        assertSame(result, leader.get(5, TimeUnit.SECONDS));
+        assertNotSame(result, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(result, follower.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void invalidateInATransactionDetachesReadsAgainAfterTheCommit() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            readCoalescer.invalidate(1L);
+            // started after the invalidation but before the commit, it reads the old data
+            Future<String> beforeCommit = executorService.submit(() -> readCoalescer.execute(1L, "listAll", List.of(0), () -> {
+                leaderStarted.countDown();
+                await(release);
+                return "stale";
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            String afterCommit = readCoalescer.execute(1L, "listAll", List.of(0), () -> "fresh");
+            release.countDown();
+
+            assertEquals("fresh", afterCommit);
+            assertEquals("stale", beforeCommit.get(5, TimeUnit.SECONDS));
+            assertEquals(0, readCoalescer.coalescedCount());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void differentArgumentsAreNotCoalesced() {
+        assertEquals("a", readCoalescer.execute(1L, "getById", List.of(1L), () -> "a"));
+        assertEquals("b", readCoalescer.execute(1L, "getById", List.of(2L), () -> "b"));
+        assertEquals(0, readCoalescer.coalescedCount());
+    }
+
+    private void waitForCoalescedCall() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (readCoalescer.coalescedCount() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, readCoalescer.coalescedCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.notemanager.unit.service;
+
+import com.example.notemanager.model.User;
+import com.example.notemanager.repository.NoteRepository;
+import com.example.notemanager.repository.UserDeletionRepository;
+import com.example.notemanager.repository.UserRepository;
+import com.example.notemanager.service.ReadCoalescer;
+import com.example.notemanager.service.UserDeletionService;
+import com.example.notemanager.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDeletionServiceTest {
+
+    @InjectMocks
+    private UserDeletionService userDeletionService;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private UserDeletionRepository userDeletionRepository;
+    @Mock
+    private NoteRepository noteRepository;
+    @Mock
+    private UserService userService;
+    @Mock
+    private ReadCoalescer readCoalescer;
+    @Mock
+    private SessionRegistry sessionRegistry;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void userIsEvictedAndSessionsExpireOnlyOnceTheDeletionCommitted() {
+        User user = User.builder().id(1L).userName("leaving").build();
+        SessionInformation session = new SessionInformation("leaving", "session-1", new Date());
+        when(userService.getAuthenticatedUser()).thenReturn(user);
+        when(userRepository.markDeleted(eq(1L), any())).thenReturn(1);
+
+        userDeletionService.deleteAuthenticatedUser();
+
+        verify(userService, never()).evictUserFromCache("leaving");
+        verifyNoInteractions(sessionRegistry);
+
+        when(sessionRegistry.getAllSessions("leaving", false)).thenReturn(List.of(session));
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        verify(userService).evictUserFromCache("leaving");
+        assertTrue(session.isExpired());
+    }
+}
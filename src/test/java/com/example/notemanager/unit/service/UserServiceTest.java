@@ -12,8 +12,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -105,4 +108,23 @@ class UserServiceTest {
         verify(userRepository, times(1)).findByUserName(invalidUserName);
         assertEquals(ExceptionMessages.ENTITY_NOT_FOUND.getMessage(), exception.getMessage());
     }
+
+    @Test
+    @DisplayName("Exception Test: Deleted user is not returned as the authenticated user")
+    void givenDeletedUser_whenGetAuthenticatedUser_thenThrowEntityException() {
+        // given
+        User deletedUser = User.builder().userName("leaving").password("password").role("ROLE_USER")
+                .deletedAt(LocalDateTime.now()).build();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("leaving", null));
+        doReturn(Optional.of(deletedUser)).when(userRepository).findByUserName("leaving");
+
+        // when & then
+        try {
+            EntityException exception = assertThrows(EntityException.class, () -> userService.getAuthenticatedUser());
+            assertEquals(ExceptionMessages.USER_NOT_FOUND.getMessage(), exception.getMessage());
+            verify(userCache, never()).put(any(), any());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
 }
\ No newline at end of file